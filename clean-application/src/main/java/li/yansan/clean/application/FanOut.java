@@ -0,0 +1,115 @@
+package li.yansan.clean.application;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import li.yansan.clean.application.client.Client;
+import li.yansan.clean.application.repository.Repository;
+
+/**
+ * Runs independent port calls of a use case in parallel.
+ *
+ * <p>
+ * Each call runs on its own virtual thread. {@code join} returns once all calls have
+ * succeeded, so the latency of the fan-out is that of the slowest call rather than the
+ * sum of all of them. On the first failure the remaining calls are interrupted,
+ * {@code join} waits for them to finish and then rethrows that failure. This follows the
+ * shutdown-on-failure policy of {@code StructuredTaskScope}, which is still a preview API
+ * in Java 21.
+ *
+ * <pre>{@code
+ * FanOut.Tuple2<RepositoryResponse<Customer>, ClientResponse<Rating>> result = FanOut.join(
+ *     () -> customerRepository.send(new RepositoryRequest<>(actor, customerId)),
+ *     () -> ratingClient.send(new ClientRequest<>(actor, customerId)));
+ * }</pre>
+ *
+ * @see Repository
+ * @see Client
+ */
+public final class FanOut {
+
+	private FanOut() {
+	}
+
+	public static <A, B> Tuple2<A, B> join(Supplier<A> first, Supplier<B> second) {
+		Object[] results = invokeAll(first, second);
+		return new Tuple2<>(cast(results[0]), cast(results[1]));
+	}
+
+	public static <A, B, C> Tuple3<A, B, C> join(Supplier<A> first, Supplier<B> second, Supplier<C> third) {
+		Object[] results = invokeAll(first, second, third);
+		return new Tuple3<>(cast(results[0]), cast(results[1]), cast(results[2]));
+	}
+
+	private static Object[] invokeAll(Supplier<?>... calls) {
+		Object[] results = new Object[calls.length];
+		Thread[] threads = new Thread[calls.length];
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(calls.length);
+		for (int i = 0; i < calls.length; i++) {
+			Supplier<?> call = calls[i];
+			if (call == null) {
+				throw new IllegalArgumentException("Call can not be null.");
+			}
+			int index = i;
+			threads[i] = Thread.ofVirtual().unstarted(() -> {
+				try {
+					results[index] = call.get();
+				}
+				catch (Throwable ex) {
+					if (failure.compareAndSet(null, ex)) {
+						interruptAll(threads);
+					}
+				}
+				finally {
+					done.countDown();
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		try {
+			done.await();
+		}
+		catch (InterruptedException ex) {
+			interruptAll(threads);
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+		Throwable cause = failure.get();
+		if (cause instanceof RuntimeException runtime) {
+			throw runtime;
+		}
+		if (cause instanceof Error error) {
+			throw error;
+		}
+		if (cause != null) {
+			throw new CompletionException(cause);
+		}
+		return results;
+	}
+
+	private static void interruptAll(Thread[] threads) {
+		Thread self = Thread.currentThread();
+		for (Thread thread : threads) {
+			if (thread != self) {
+				thread.interrupt();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T cast(Object value) {
+		return (T) value;
+	}
+
+	public record Tuple2<A, B>(A first, B second) {
+	}
+
+	public record Tuple3<A, B, C>(A first, B second, C third) {
+	}
+
+}
@@ -0,0 +1,29 @@
+package li.yansan.clean.application;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Reactive counterpart of {@link UseCase} based on {@link java.util.concurrent.Flow}.
+ *
+ * <p>
+ * Each request published by {@code requests} produces one response, in order.
+ * Implementations request items from {@code requests} only as the subscriber of the
+ * responses asks for them, so a slow subscriber slows down the message source instead of
+ * buffering requests, without a reactive framework. An implementation that composes the
+ * reactive ports ({@code ReactiveRepository}, {@code ReactiveClient},
+ * {@code ReactiveMessenger}) extends that backpressure to them; one that wraps a blocking
+ * {@link UseCase} executes it off the source's delivery thread.
+ *
+ * @param <UPayload> the type of the request payload
+ * @param <UBody> the type of the response body
+ */
+public interface ReactiveUseCase<UPayload, UBody> {
+
+	/**
+	 * Executes the business logic for each published request.
+	 * @param requests the source of requests
+	 * @return a publisher of one response per request
+	 */
+	Flow.Publisher<UseCaseResponse<UBody>> execute(Flow.Publisher<UseCaseRequest<UPayload>> requests);
+
+}
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import li.yansan.clean.commons.convert.Converter;
 import li.yansan.clean.commons.convert.Convertible;
+import li.yansan.clean.commons.validation.GenerateValidator;
 import li.yansan.clean.commons.validation.Validator;
 
 /**
@@ -33,6 +34,7 @@ import li.yansan.clean.commons.validation.Validator;
  * @param actor the actor initiating the use case; must not be null
  * @param payload the business data payload; must not be null
  */
+@GenerateValidator
 public record UseCaseRequest<UPayload>(@Valid @NotNull Actor actor, @Valid @NotNull UPayload payload) {
 	public UseCaseRequest(Actor actor, UPayload payload) {
 		this.actor = actor;
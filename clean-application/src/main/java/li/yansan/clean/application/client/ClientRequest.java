@@ -3,8 +3,11 @@ package li.yansan.clean.application.client;
 import jakarta.validation.constraints.NotNull;
 import li.yansan.clean.application.Actor;
 import li.yansan.clean.commons.convert.Convertible;
+import li.yansan.clean.commons.validation.GenerateValidator;
+import li.yansan.clean.commons.validation.ValidationSite;
 import li.yansan.clean.commons.validation.Validator;
 
+@GenerateValidator
 public record ClientRequest<UPayload>(@NotNull Actor actor, @NotNull UPayload payload) {
 	public ClientRequest(Actor actor, UPayload payload) {
 		this.actor = actor;
@@ -17,6 +20,6 @@ public record ClientRequest<UPayload>(@NotNull Actor actor, @NotNull UPayload pa
 	}
 
 	private void validate() {
-		Validator.validate(this);
+		Validator.validate(this, ValidationSite.INTERNAL);
 	}
 }
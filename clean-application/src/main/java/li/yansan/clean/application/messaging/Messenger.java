@@ -1,7 +1,23 @@
 package li.yansan.clean.application.messaging;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 public interface Messenger<UPayload, UBody> {
 
 	MessengerResponse<UBody> send(MessengerRequest<UPayload> request);
 
+	/**
+	 * Sends the request without blocking the caller.
+	 *
+	 * <p>
+	 * The default implementation runs {@link #send} on a new virtual thread.
+	 * Implementations backed by a non-blocking driver should override it.
+	 * @param request the request to send
+	 * @return a stage completed with the response, or exceptionally with the failure
+	 */
+	default CompletionStage<MessengerResponse<UBody>> sendAsync(MessengerRequest<UPayload> request) {
+		return CompletableFuture.supplyAsync(() -> send(request), Thread::startVirtualThread);
+	}
+
 }
@@ -3,8 +3,11 @@ package li.yansan.clean.application.messaging;
 import jakarta.validation.constraints.NotNull;
 import li.yansan.clean.application.Actor;
 import li.yansan.clean.commons.convert.Convertible;
+import li.yansan.clean.commons.validation.GenerateValidator;
+import li.yansan.clean.commons.validation.ValidationSite;
 import li.yansan.clean.commons.validation.Validator;
 
+@GenerateValidator
 public record MessengerRequest<UPayload>(@NotNull Actor sender, @NotNull UPayload payload) {
 	public MessengerRequest(Actor sender, UPayload payload) {
 		this.sender = sender;
@@ -17,6 +20,6 @@ public record MessengerRequest<UPayload>(@NotNull Actor sender, @NotNull UPayloa
 	}
 
 	private void validate() {
-		Validator.validate(this);
+		Validator.validate(this, ValidationSite.INTERNAL);
 	}
 }
@@ -3,6 +3,8 @@ package li.yansan.clean.application.messaging;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import li.yansan.clean.commons.convert.Convertible;
+import li.yansan.clean.commons.validation.GenerateValidator;
+import li.yansan.clean.commons.validation.ValidationSite;
 import li.yansan.clean.commons.validation.Validator;
 
 /**
@@ -20,6 +22,8 @@ import li.yansan.clean.commons.validation.Validator;
  * messenger.
  * <li><b>Validation:</b> Enforces that the {@code body} is not null and satisfies any
  * constraints defined on it (e.g., via Bean Validation annotations) upon instantiation.
+ * This is an {@link ValidationSite#INTERNAL internal} validation site, so it may be
+ * skipped by the active {@link li.yansan.clean.commons.validation.ValidationPolicy}.
  * <li><b>Transformation:</b> Provides constructors to facilitate the conversion of
  * different data types into the required domain object ({@code UBody}).
  * </ul>
@@ -27,6 +31,7 @@ import li.yansan.clean.commons.validation.Validator;
  * @param <UBody> the type of the response body
  * @param body the body of the response; must not be null
  */
+@GenerateValidator
 public record MessengerResponse<UBody>(@Valid @NotNull UBody body) {
 	public MessengerResponse(UBody body) {
 		this.body = body;
@@ -38,6 +43,6 @@ public record MessengerResponse<UBody>(@Valid @NotNull UBody body) {
 	}
 
 	private void validate() {
-		Validator.validate(this);
+		Validator.validate(this, ValidationSite.INTERNAL);
 	}
 }
@@ -0,0 +1,22 @@
+package li.yansan.clean.application.messaging;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Reactive counterpart of {@link Messenger} based on {@link java.util.concurrent.Flow}.
+ *
+ * <p>
+ * Each request published by {@code requests} produces one response, in order. Demand is
+ * passed through: the messenger only requests as many inputs from the source as the
+ * subscriber of the responses has requested, so a slow consumer slows down the source
+ * instead of buffering. The first failure is signalled with {@code onError} and cancels
+ * the source.
+ *
+ * @param <UPayload> the type of the request payload
+ * @param <UBody> the type of the response body
+ */
+public interface ReactiveMessenger<UPayload, UBody> {
+
+	Flow.Publisher<MessengerResponse<UBody>> send(Flow.Publisher<MessengerRequest<UPayload>> requests);
+
+}
@@ -1,5 +1,10 @@
 package li.yansan.clean.application.repository;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Defines the contract for interacting with the database.
  *
@@ -28,4 +33,39 @@ public interface Repository<UPayload, UBody> {
 
 	RepositoryResponse<UBody> send(RepositoryRequest<UPayload> request);
 
+	/**
+	 * Sends the request without blocking the caller.
+	 *
+	 * <p>
+	 * The default implementation runs {@link #send} on a new virtual thread.
+	 * Implementations backed by a non-blocking driver should override it.
+	 * @param request the request to send
+	 * @return a stage completed with the response, or exceptionally with the failure
+	 */
+	default CompletionStage<RepositoryResponse<UBody>> sendAsync(RepositoryRequest<UPayload> request) {
+		return CompletableFuture.supplyAsync(() -> send(request), Thread::startVirtualThread);
+	}
+
+	/**
+	 * Sends several requests and reports the outcome of each one.
+	 *
+	 * <p>
+	 * The default implementation calls {@link #send} once per request. Implementations
+	 * able to persist in bulk should override it.
+	 * @param requests the requests to send
+	 * @return one result per request, in the order of the requests
+	 */
+	default List<RepositoryResult<UBody>> sendAll(List<RepositoryRequest<UPayload>> requests) {
+		List<RepositoryResult<UBody>> results = new ArrayList<>(requests.size());
+		for (RepositoryRequest<UPayload> request : requests) {
+			try {
+				results.add(RepositoryResult.success(send(request)));
+			}
+			catch (RuntimeException ex) {
+				results.add(RepositoryResult.failure(ex));
+			}
+		}
+		return results;
+	}
+
 }
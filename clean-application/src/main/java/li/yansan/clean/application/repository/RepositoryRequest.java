@@ -3,8 +3,11 @@ package li.yansan.clean.application.repository;
 import jakarta.validation.constraints.NotNull;
 import li.yansan.clean.application.Actor;
 import li.yansan.clean.commons.convert.Convertible;
+import li.yansan.clean.commons.validation.GenerateValidator;
+import li.yansan.clean.commons.validation.ValidationSite;
 import li.yansan.clean.commons.validation.Validator;
 
+@GenerateValidator
 public record RepositoryRequest<UPayload>(@NotNull Actor sender, @NotNull UPayload payload) {
 	public RepositoryRequest(Actor sender, UPayload payload) {
 		this.sender = sender;
@@ -17,6 +20,6 @@ public record RepositoryRequest<UPayload>(@NotNull Actor sender, @NotNull UPaylo
 	}
 
 	private void validate() {
-		Validator.validate(this);
+		Validator.validate(this, ValidationSite.INTERNAL);
 	}
 }
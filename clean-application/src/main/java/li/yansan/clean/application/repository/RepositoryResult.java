@@ -0,0 +1,33 @@
+package li.yansan.clean.application.repository;
+
+/**
+ * Outcome of one request of a {@link Repository#sendAll(java.util.List) batch}.
+ *
+ * <p>
+ * Exactly one of {@code response} and {@code failure} is set.
+ *
+ * @param <UBody> the type of the response body
+ * @param response the response if the request succeeded, otherwise null
+ * @param failure the failure if the request failed, otherwise null
+ */
+public record RepositoryResult<UBody>(RepositoryResponse<UBody> response, RuntimeException failure) {
+
+	public RepositoryResult {
+		if ((response == null) == (failure == null)) {
+			throw new IllegalArgumentException("Exactly one of response and failure must be set.");
+		}
+	}
+
+	public static <UBody> RepositoryResult<UBody> success(RepositoryResponse<UBody> response) {
+		return new RepositoryResult<>(response, null);
+	}
+
+	public static <UBody> RepositoryResult<UBody> failure(RuntimeException failure) {
+		return new RepositoryResult<>(null, failure);
+	}
+
+	public boolean isSuccess() {
+		return failure == null;
+	}
+
+}
@@ -0,0 +1,26 @@
+package li.yansan.clean.application.repository;
+
+/**
+ * Defines the contract for database operations returning large result sets.
+ *
+ * <p>
+ * Unlike {@link Repository}, the response holds a lazily produced stream of bodies
+ * instead of one materialized body, so rows are read, converted and validated one at a
+ * time as the caller consumes them. The stream is pull-based, so a slow consumer never
+ * causes rows to pile up in memory. The response holds database resources and must be
+ * closed:
+ *
+ * <pre>{@code
+ * try (StreamingRepositoryResponse<Customer> response = repository.send(request)) {
+ *   response.body().forEach(exporter::write);
+ * }
+ * }</pre>
+ *
+ * @param <UPayload> the type of the request payload
+ * @param <UBody> the type of each streamed body
+ */
+public interface StreamingRepository<UPayload, UBody> {
+
+	StreamingRepositoryResponse<UBody> send(RepositoryRequest<UPayload> request);
+
+}
@@ -0,0 +1,44 @@
+package li.yansan.clean.application.repository;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import li.yansan.clean.commons.validation.GenerateValidator;
+import li.yansan.clean.commons.validation.ValidationSite;
+import li.yansan.clean.commons.validation.Validator;
+
+/**
+ * Represents a streamed response from a {@link StreamingRepository}.
+ *
+ * <p>
+ * The {@code body} stream is lazy: each element is produced, converted and validated when
+ * the caller consumes it, and it can be consumed only once. Closing the response closes
+ * the stream and releases the underlying database resources (cursor, connection), also
+ * when the stream was not fully consumed.
+ *
+ * @param <UBody> the type of each streamed body
+ * @param body the lazily produced bodies; must not be null
+ */
+@GenerateValidator
+public record StreamingRepositoryResponse<UBody>(@NotNull Stream<UBody> body) implements AutoCloseable {
+	public StreamingRepositoryResponse(Stream<UBody> body) {
+		this.body = body;
+		validate();
+	}
+
+	/**
+	 * @return an iterator over the bodies, for callers that pull them one at a time
+	 */
+	public Iterator<UBody> iterator() {
+		return body.iterator();
+	}
+
+	@Override
+	public void close() {
+		body.close();
+	}
+
+	private void validate() {
+		Validator.validate(this, ValidationSite.INTERNAL);
+	}
+}
@@ -0,0 +1,38 @@
+package li.yansan.clean.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * <p>
+ * Runs every benchmark in this package with the {@link GCProfiler} attached so that
+ * allocation rates ({@code gc.alloc.rate.norm}, bytes per operation) are reported next to
+ * throughput and the latency percentiles of {@code SampleTime} mode. Standard JMH command
+ * line options are accepted and take precedence, e.g.
+ *
+ * <pre>{@code
+ * java -jar clean-benchmarks/target/benchmarks.jar ValidatorBenchmark -rf json
+ * }</pre>
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		OptionsBuilder options = new OptionsBuilder();
+		if (commandLine.getIncludes().isEmpty()) {
+			options.include(BenchmarkRunner.class.getPackageName() + ".*");
+		}
+		options.parent(commandLine).addProfiler(GCProfiler.class);
+		new Runner(options.build()).run();
+	}
+
+}
@@ -0,0 +1,54 @@
+package li.yansan.clean.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import li.yansan.clean.application.messaging.MessengerRequest;
+import li.yansan.clean.application.messaging.MessengerResponse;
+import li.yansan.clean.platform.EventBusMessenger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the handoff of one payload through {@link EventBusMessenger#send} to a single
+ * subscriber, including the time senders wait for the subscriber when the buffer is full.
+ * The payload carries no constraints, so validation costs no more than a plan lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBusMessengerBenchmark {
+
+	private static final String EVENT = "order-placed";
+
+	private EventBusMessenger<String> bus;
+
+	@Setup(Level.Trial)
+	public void setUp(Blackhole blackhole) {
+		bus = new EventBusMessenger<>(1024, EventBusMessenger.WaitStrategy.YIELD);
+		bus.subscribe(blackhole::consume);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		bus.close();
+	}
+
+	@Benchmark
+	public MessengerResponse<Long> send() {
+		return bus.send(new MessengerRequest<>(Fixtures.ACTOR, EVENT));
+	}
+
+}
@@ -0,0 +1,41 @@
+package li.yansan.clean.benchmarks;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.List;
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.commons.validation.constraints.SSN;
+
+/**
+ * Shared payload types used across the benchmarks.
+ *
+ * <p>
+ * {@link Customer} is a shallow graph (constraints on its own components only) while
+ * {@link Order} cascades through {@code @Valid} into a customer and a list of lines.
+ */
+public final class Fixtures {
+
+	public static final Actor ACTOR = new Actor();
+
+	public static final Customer CUSTOMER = new Customer("Jane Doe", "jane.doe@example.com", "123-45-6789");
+
+	public static final Order ORDER = new Order(CUSTOMER,
+			List.of(new OrderLine("SKU-1", 2), new OrderLine("SKU-2", 1), new OrderLine("SKU-3", 5)));
+
+	private Fixtures() {
+	}
+
+	public record Customer(@NotBlank String name, @NotNull @Email String email, @SSN String ssn) {
+	}
+
+	public record OrderLine(@NotBlank String sku, @Positive int quantity) {
+	}
+
+	public record Order(@Valid @NotNull Customer customer, @Valid @NotEmpty List<OrderLine> lines) {
+	}
+
+}
@@ -0,0 +1,57 @@
+package li.yansan.clean.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.CountryCodeValidator;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.CreditCardValidator;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.IBANValidator;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.UUIDValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the identifier validators on valid values, where every character is scanned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentifierValidatorBenchmark {
+
+	public String iban = "DE89370400440532013000";
+
+	public String card = "4111111111111111";
+
+	public String uuid = "123e4567-e89b-12d3-a456-426614174000";
+
+	public String country = "DE";
+
+	@Benchmark
+	public boolean iban() {
+		return IBANValidator.isValidValue(iban);
+	}
+
+	@Benchmark
+	public boolean creditCard() {
+		return CreditCardValidator.isValidValue(card);
+	}
+
+	@Benchmark
+	public boolean uuid() {
+		return UUIDValidator.isValidValue(uuid);
+	}
+
+	@Benchmark
+	public boolean countryCode() {
+		return CountryCodeValidator.isValidValue(country);
+	}
+
+}
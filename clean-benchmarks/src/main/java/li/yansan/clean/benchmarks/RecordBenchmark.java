@@ -0,0 +1,44 @@
+package li.yansan.clean.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import li.yansan.clean.application.UseCaseRequest;
+import li.yansan.clean.application.client.ClientResponse;
+import li.yansan.clean.application.repository.RepositoryRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of building the request/response records, each of which validates
+ * itself in its constructor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordBenchmark {
+
+	@Benchmark
+	public UseCaseRequest<Fixtures.Order> useCaseRequest() {
+		return new UseCaseRequest<>(Fixtures.ACTOR, Fixtures.ORDER);
+	}
+
+	@Benchmark
+	public RepositoryRequest<Fixtures.Order> repositoryRequest() {
+		return new RepositoryRequest<>(Fixtures.ACTOR, Fixtures.ORDER);
+	}
+
+	@Benchmark
+	public ClientResponse<Fixtures.Customer> clientResponse() {
+		return new ClientResponse<>(Fixtures.CUSTOMER);
+	}
+
+}
@@ -0,0 +1,58 @@
+package li.yansan.clean.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.repository.RepositoryRequest;
+import li.yansan.clean.application.repository.RepositoryResponse;
+import li.yansan.clean.platform.RepositoryBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the full {@link RepositoryBase#send} pipeline (request construction, convert,
+ * validate, process, convert, response construction) with a {@code process} step that
+ * does no I/O, so only the framework overhead is left.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBaseBenchmark {
+
+	private final NoOpRepository repository = new NoOpRepository();
+
+	@Benchmark
+	public RepositoryResponse<Fixtures.Order> send() {
+		return repository.send(new RepositoryRequest<>(Fixtures.ACTOR, Fixtures.ORDER));
+	}
+
+	static final class NoOpRepository
+			extends RepositoryBase<Fixtures.Order, Fixtures.Order, Fixtures.Order, Fixtures.Order> {
+
+		@Override
+		protected Fixtures.Order convertPayload(Actor actor, Fixtures.Order payload) {
+			return payload;
+		}
+
+		@Override
+		protected Fixtures.Order process(Fixtures.Order input) {
+			return input;
+		}
+
+		@Override
+		protected Fixtures.Order convertToBody(Fixtures.Order output) {
+			return output;
+		}
+
+	}
+
+}
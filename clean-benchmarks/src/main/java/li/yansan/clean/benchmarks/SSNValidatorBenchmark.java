@@ -0,0 +1,58 @@
+package li.yansan.clean.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import li.yansan.clean.commons.validation.constraints.SSN;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.SSNValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SSNValidator#isValid} on a valid value and on values rejected early and
+ * late by the default pattern, against the regular expression it used to run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SSNValidatorBenchmark {
+
+	@SSN
+	private static String defaults;
+
+	@Param({ "123-45-6789", "666-45-6789", "123-45-0000" })
+	public String value;
+
+	private SSNValidator validator;
+
+	private Pattern pattern;
+
+	@Setup
+	public void setup() throws NoSuchFieldException {
+		validator = new SSNValidator();
+		validator.initialize(SSNValidatorBenchmark.class.getDeclaredField("defaults").getAnnotation(SSN.class));
+		pattern = Pattern.compile(SSN.DEFAULT_PATTERN);
+	}
+
+	@Benchmark
+	public boolean isValid() {
+		return validator.isValid(value, null);
+	}
+
+	@Benchmark
+	public boolean regexBaseline() {
+		return value.isEmpty() || value.isBlank() || pattern.matcher(value).matches();
+	}
+
+}
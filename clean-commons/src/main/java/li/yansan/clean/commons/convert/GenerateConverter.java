@@ -0,0 +1,41 @@
+package li.yansan.clean.commons.convert;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@link Converter} implementation at compile time.
+ *
+ * <p>
+ * Annotate an interface extending {@code Converter<S, T>}; the {@code clean-processor}
+ * annotation processor writes {@code <Interface>Impl} next to it ({@code Outer_InnerImpl}
+ * for nested interfaces). The generated code copies every property of {@code T} from the
+ * property of {@code S} with the same name, in straight-line code without reflection:
+ *
+ * <ul>
+ * <li>{@code S} properties are read from record accessors, public getters
+ * ({@code getX()}, {@code isX()}) and public fields.
+ * <li>Record targets are built through their canonical constructor; other targets through
+ * a public no-argument constructor and public setters. Of overloaded setters, the one
+ * {@code javac} would pick for the source type is called.
+ * <li>A target property without a readable source property of an assignable type is a
+ * compile error, as are overloaded setters none of which is most specific.
+ * </ul>
+ *
+ * <pre>{@code
+ * &#64;GenerateConverter
+ * public interface CustomerEntityToCustomer extends Converter<CustomerEntity, Customer> {
+ * }
+ *
+ * Converter<CustomerEntity, Customer> converter = new CustomerEntityToCustomerImpl();
+ * }</pre>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface GenerateConverter {
+
+}
@@ -0,0 +1,34 @@
+package li.yansan.clean.commons.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@link GeneratedValidator} for the annotated class or record at compile
+ * time.
+ *
+ * <p>
+ * The {@code clean-processor} annotation processor writes {@code <Type>_Validator} next
+ * to the type ({@code Outer_Inner_Validator} for nested types) and registers it as a
+ * service. {@link Validator} then checks instances with plain Java code instead of
+ * building Hibernate Validator metadata by reflection, and only falls back to Hibernate
+ * Validator to report violations.
+ *
+ * <p>
+ * Field and record component constraints in the default group are supported:
+ * {@code @NotNull}, {@code @NotBlank}, {@code @NotEmpty}, {@code @Size}, {@code @Min},
+ * {@code @Max}, {@code @Positive}, {@code @Pattern}, the identifier constraints of
+ * {@link li.yansan.clean.commons.validation.constraints} and {@code @Valid} cascades into
+ * single values, {@link Iterable} elements and {@link java.util.Map} values. A type using
+ * anything else is reported as a compiler warning and keeps being validated by Hibernate
+ * Validator.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface GenerateValidator {
+
+}
@@ -0,0 +1,31 @@
+package li.yansan.clean.commons.validation;
+
+import java.util.function.Predicate;
+
+/**
+ * A validator generated at compile time for a type annotated with
+ * {@link GenerateValidator}.
+ *
+ * <p>
+ * Implementations are discovered through {@link java.util.ServiceLoader} and used by
+ * {@link Validator} in place of Hibernate Validator metadata. They only decide whether an
+ * instance is valid; violations are still reported by Hibernate Validator.
+ *
+ * @param <T> the validated type
+ */
+public interface GeneratedValidator<T> {
+
+	/**
+	 * @return the validated type
+	 */
+	Class<T> type();
+
+	/**
+	 * Checks the constraints declared on the instance.
+	 * @param value the instance to check; never null
+	 * @param cascade checks a non-null value reached through a {@code @Valid} cascade
+	 * @return {@code true} if the instance and its cascaded values are valid
+	 */
+	boolean isValid(T value, Predicate<Object> cascade);
+
+}
@@ -0,0 +1,70 @@
+package li.yansan.clean.commons.validation;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Request-scoped record of the instances already validated on the current thread.
+ *
+ * <p>
+ * While a context is open, {@link Validator} skips any record instance that was already
+ * validated successfully, either directly or through a {@code @Valid} cascade. This
+ * removes the repeated passes over the same immutable payload as it travels from a
+ * {@code UseCaseRequest} through port requests, adapter inputs and responses. Only
+ * records are tracked, by identity, since they are treated as immutable.
+ *
+ * <p>
+ * Contexts are opened around one use case execution and must be closed on the same
+ * thread; nested opens join the outer context:
+ *
+ * <pre>{@code
+ * try (ValidationContext context = Validator.openContext()) {
+ *   return useCase.execute(new UseCaseRequest<>(actor, payload));
+ * }
+ * }</pre>
+ */
+public final class ValidationContext implements AutoCloseable {
+
+	private static final ThreadLocal<ValidationContext> CURRENT = new ThreadLocal<>();
+
+	private final Set<Object> validated = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private int depth;
+
+	private ValidationContext() {
+	}
+
+	static ValidationContext open() {
+		ValidationContext context = CURRENT.get();
+		if (context == null) {
+			context = new ValidationContext();
+			CURRENT.set(context);
+		}
+		context.depth++;
+		return context;
+	}
+
+	static ValidationContext current() {
+		return CURRENT.get();
+	}
+
+	boolean isValidated(Object data) {
+		return validated.contains(data);
+	}
+
+	Set<Object> validated() {
+		return validated;
+	}
+
+	@Override
+	public void close() {
+		if (CURRENT.get() != this) {
+			throw new IllegalStateException("ValidationContext must be closed on the thread that opened it.");
+		}
+		if (--depth == 0) {
+			CURRENT.remove();
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+package li.yansan.clean.commons.validation;
+
+/**
+ * Selects which {@link Validator} calls actually run a validation pass.
+ *
+ * @see ValidationPolicy
+ * @see ValidationSite
+ */
+public enum ValidationMode {
+
+	/**
+	 * Every call is validated. This is the default.
+	 */
+	ALWAYS,
+
+	/**
+	 * Only {@link ValidationSite#BOUNDARY boundary} calls are validated; internal hops
+	 * are trusted.
+	 */
+	BOUNDARY,
+
+	/**
+	 * {@link ValidationSite#BOUNDARY Boundary} calls are always validated, internal hops
+	 * are validated for a sampled percentage of calls.
+	 */
+	SAMPLED,
+
+	/**
+	 * Nothing is validated.
+	 */
+	OFF
+
+}
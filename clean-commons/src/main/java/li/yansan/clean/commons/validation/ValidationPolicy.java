@@ -0,0 +1,97 @@
+package li.yansan.clean.commons.validation;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runtime-selectable policy deciding which {@link Validator} calls are performed.
+ *
+ * <p>
+ * The policy active at startup is read from the {@code clean.validation.mode} system
+ * property (one of {@link ValidationMode}, default {@code ALWAYS}) and the
+ * {@code clean.validation.sample-percent} system property (default {@code 100}). It can
+ * be replaced at any time with {@link Validator#setPolicy(ValidationPolicy)}. If either
+ * property is malformed, a warning is logged and {@link #ALWAYS} is used instead.
+ *
+ * @param mode the validation mode; must not be null
+ * @param samplePercent the percentage (0 to 100) of internal calls validated in
+ * {@link ValidationMode#SAMPLED} mode
+ */
+public record ValidationPolicy(ValidationMode mode, int samplePercent) {
+
+	private static final String MODE_PROPERTY = "clean.validation.mode";
+
+	private static final String SAMPLE_PERCENT_PROPERTY = "clean.validation.sample-percent";
+
+	public static final ValidationPolicy ALWAYS = new ValidationPolicy(ValidationMode.ALWAYS, 100);
+
+	public static final ValidationPolicy BOUNDARY = new ValidationPolicy(ValidationMode.BOUNDARY, 0);
+
+	public static final ValidationPolicy OFF = new ValidationPolicy(ValidationMode.OFF, 0);
+
+	public ValidationPolicy {
+		if (mode == null) {
+			throw new IllegalArgumentException("ValidationMode can not be null.");
+		}
+		if (samplePercent < 0 || samplePercent > 100) {
+			throw new IllegalArgumentException("Sample percent must be between 0 and 100.");
+		}
+	}
+
+	public static ValidationPolicy sampled(int samplePercent) {
+		return new ValidationPolicy(ValidationMode.SAMPLED, samplePercent);
+	}
+
+	static ValidationPolicy fromSystemProperties() {
+		try {
+			return new ValidationPolicy(parseMode(), parseSamplePercent());
+		}
+		catch (IllegalArgumentException ex) {
+			// Failing here would fail the initialization of Validator.
+			System.getLogger(Validator.class.getName())
+				.log(System.Logger.Level.WARNING, ex.getMessage() + " Falling back to ALWAYS.");
+			return ALWAYS;
+		}
+	}
+
+	private static ValidationMode parseMode() {
+		String mode = System.getProperty(MODE_PROPERTY, ValidationMode.ALWAYS.name());
+		try {
+			return ValidationMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Invalid value '" + mode + "' of " + MODE_PROPERTY + ".", ex);
+		}
+	}
+
+	private static int parseSamplePercent() {
+		String samplePercent = System.getProperty(SAMPLE_PERCENT_PROPERTY, "100");
+		try {
+			int parsed = Integer.parseInt(samplePercent.trim());
+			if (parsed >= 0 && parsed <= 100) {
+				return parsed;
+			}
+		}
+		catch (NumberFormatException ex) {
+			// Reported below.
+		}
+		throw new IllegalArgumentException(
+				"Invalid value '" + samplePercent + "' of " + SAMPLE_PERCENT_PROPERTY + "; expected 0 to 100.");
+	}
+
+	/**
+	 * Decides whether a call at the given site is validated.
+	 * @param site the site of the call
+	 * @return {@code true} if the call must be validated
+	 */
+	public boolean shouldValidate(ValidationSite site) {
+		return switch (mode) {
+			case ALWAYS -> true;
+			case BOUNDARY -> site == ValidationSite.BOUNDARY;
+			case SAMPLED -> site == ValidationSite.BOUNDARY || samplePercent == 100
+					|| (samplePercent > 0 && ThreadLocalRandom.current().nextInt(100) < samplePercent);
+			case OFF -> false;
+		};
+	}
+
+}
@@ -0,0 +1,21 @@
+package li.yansan.clean.commons.validation;
+
+/**
+ * Where a {@link Validator} call happens, used by the active {@link ValidationPolicy} to
+ * decide whether the call runs.
+ */
+public enum ValidationSite {
+
+	/**
+	 * Data crossing a layer boundary, e.g. a use case request entering the application
+	 * layer or a converted input leaving an adapter for an external system.
+	 */
+	BOUNDARY,
+
+	/**
+	 * Data handed between the application and platform layers inside the same process,
+	 * e.g. port requests and responses built from already validated data.
+	 */
+	INTERNAL
+
+}
@@ -0,0 +1,11 @@
+package li.yansan.clean.commons.validation;
+
+/**
+ * Counts of {@link Validator} calls since startup or the last
+ * {@link Validator#resetStatistics() reset}.
+ *
+ * @param performed the number of calls that ran a validation pass
+ * @param skipped the number of calls skipped by the active {@link ValidationPolicy}
+ */
+public record ValidationStatistics(long performed, long skipped) {
+}
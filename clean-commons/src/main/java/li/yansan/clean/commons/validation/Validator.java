@@ -6,32 +6,130 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ValidatorFactory;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import li.yansan.clean.commons.validation.internal.ValidationPlans;
 
+/**
+ * Static entry point for Bean Validation.
+ *
+ * <p>
+ * Whether a call actually validates is decided by the active {@link ValidationPolicy} and
+ * the {@link ValidationSite} of the call; {@link #statistics()} reports how many calls
+ * were performed and skipped.
+ *
+ * <p>
+ * Types annotated with {@link GenerateValidator} are checked by their generated
+ * {@link GeneratedValidator}; Hibernate Validator is only bootstrapped when a type
+ * without one is validated or a violation has to be reported.
+ */
 public abstract class Validator {
 
-	private static final ValidatorFactory VALIDATOR_FACTORY;
+	private static final ValidationPlans PLANS = new ValidationPlans(() -> Hibernate.VALIDATOR);
 
-	private static final jakarta.validation.Validator VALIDATOR;
+	private static final LongAdder PERFORMED = new LongAdder();
 
-	static {
-		// Create factory once and keep it alive for application lifetime
-		// Per Jakarta Validation spec, the factory should not be closed immediately
-		VALIDATOR_FACTORY = buildDefaultValidatorFactory();
-		VALIDATOR = VALIDATOR_FACTORY.getValidator();
+	private static final LongAdder SKIPPED = new LongAdder();
 
-		// Register shutdown hook to properly close factory on JVM shutdown
-		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-			if (VALIDATOR_FACTORY != null) {
-				VALIDATOR_FACTORY.close();
+	private static volatile ValidationPolicy policy = ValidationPolicy.fromSystemProperties();
+
+	public static <T> void validate(T data) {
+		validate(data, ValidationSite.BOUNDARY);
+	}
+
+	public static <T> void validate(T data, ValidationSite site) {
+		validate(data, site, true);
+	}
+
+	/**
+	 * Validates like {@link #validate(Object, ValidationSite)}, but does not record the
+	 * data in the open {@link ValidationContext}. Used for short-lived objects, such as
+	 * the elements of a stream, that would otherwise stay reachable until the context is
+	 * closed.
+	 * @param data the object to validate
+	 * @param site the site of the call
+	 */
+	public static <T> void validateTransient(T data, ValidationSite site) {
+		validate(data, site, false);
+	}
+
+	private static <T> void validate(T data, ValidationSite site, boolean record) {
+		if (!policy.shouldValidate(site)) {
+			SKIPPED.increment();
+			return;
+		}
+		ValidationContext context = ValidationContext.current();
+		if (context != null && data != null && context.isValidated(data)) {
+			SKIPPED.increment();
+			return;
+		}
+		PERFORMED.increment();
+		// Cached per-class plan: skips unconstrained classes, runs generated
+		// validators and proves simple records valid; anything else falls through to
+		// the full validator.
+		if (data == null || !PLANS.passes(data)) {
+			Set<ConstraintViolation<T>> result = Hibernate.VALIDATOR.validate(data);
+			if (!result.isEmpty()) {
+				throw new ConstraintViolationException(result);
 			}
-		}, "ValidatorFactory-Shutdown-Hook"));
+		}
+		if (context != null && record) {
+			PLANS.markValidated(data, context.validated());
+		}
 	}
 
-	public static <T> void validate(T data) {
-		Set<ConstraintViolation<T>> result = VALIDATOR.validate(data);
-		if (!result.isEmpty()) {
-			throw new ConstraintViolationException(result);
+	/**
+	 * Opens a {@link ValidationContext} on the current thread, or joins the one already
+	 * open.
+	 * @return the context, to be closed when the use case execution ends
+	 */
+	public static ValidationContext openContext() {
+		return ValidationContext.open();
+	}
+
+	public static ValidationPolicy getPolicy() {
+		return policy;
+	}
+
+	public static void setPolicy(ValidationPolicy policy) {
+		if (policy == null) {
+			throw new IllegalArgumentException("ValidationPolicy can not be null.");
+		}
+		Validator.policy = policy;
+	}
+
+	public static ValidationStatistics statistics() {
+		return new ValidationStatistics(PERFORMED.sum(), SKIPPED.sum());
+	}
+
+	public static void resetStatistics() {
+		PERFORMED.reset();
+		SKIPPED.reset();
+	}
+
+	/**
+	 * Holds the Hibernate Validator factory, built on first use so that types covered by
+	 * generated validators never pay for its bootstrap.
+	 */
+	private static final class Hibernate {
+
+		private static final ValidatorFactory VALIDATOR_FACTORY;
+
+		private static final jakarta.validation.Validator VALIDATOR;
+
+		static {
+			// Create factory once and keep it alive for application lifetime
+			// Per Jakarta Validation spec, the factory should not be closed immediately
+			VALIDATOR_FACTORY = buildDefaultValidatorFactory();
+			VALIDATOR = VALIDATOR_FACTORY.getValidator();
+
+			// Register shutdown hook to properly close factory on JVM shutdown
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				if (VALIDATOR_FACTORY != null) {
+					VALIDATOR_FACTORY.close();
+				}
+			}, "ValidatorFactory-Shutdown-Hook"));
 		}
+
 	}
 
 }
@@ -0,0 +1,28 @@
+package li.yansan.clean.commons.validation.constraints;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.*;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.CountryCodeValidator;
+
+/**
+ * The annotated {@link CharSequence} must be an upper case ISO 3166-1 alpha-2 country
+ * code known to {@link java.util.Locale#getISOCountries()}.
+ *
+ * <p>
+ * Null values are valid; combine with {@code @NotNull} or {@code @NotBlank} to require a
+ * value.
+ */
+@Documented
+@Constraint(validatedBy = { CountryCodeValidator.class })
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CountryCode {
+
+	String message() default "Not valid country code.";
+
+	Class<?>[] groups() default {};
+
+	Class<? extends Payload>[] payload() default {};
+
+}
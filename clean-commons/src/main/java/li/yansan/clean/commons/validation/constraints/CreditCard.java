@@ -0,0 +1,28 @@
+package li.yansan.clean.commons.validation.constraints;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.*;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.CreditCardValidator;
+
+/**
+ * The annotated {@link CharSequence} must be a payment card number of 12 to 19 digits,
+ * without separators, passing the Luhn check.
+ *
+ * <p>
+ * Null values are valid; combine with {@code @NotNull} or {@code @NotBlank} to require a
+ * value.
+ */
+@Documented
+@Constraint(validatedBy = { CreditCardValidator.class })
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CreditCard {
+
+	String message() default "Not valid credit card number.";
+
+	Class<?>[] groups() default {};
+
+	Class<? extends Payload>[] payload() default {};
+
+}
@@ -0,0 +1,28 @@
+package li.yansan.clean.commons.validation.constraints;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.*;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.CurrencyCodeValidator;
+
+/**
+ * The annotated {@link CharSequence} must be an upper case ISO 4217 currency code known
+ * to {@link java.util.Currency#getAvailableCurrencies()}.
+ *
+ * <p>
+ * Null values are valid; combine with {@code @NotNull} or {@code @NotBlank} to require a
+ * value.
+ */
+@Documented
+@Constraint(validatedBy = { CurrencyCodeValidator.class })
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrencyCode {
+
+	String message() default "Not valid currency code.";
+
+	Class<?>[] groups() default {};
+
+	Class<? extends Payload>[] payload() default {};
+
+}
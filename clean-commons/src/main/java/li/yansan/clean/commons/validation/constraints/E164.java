@@ -0,0 +1,28 @@
+package li.yansan.clean.commons.validation.constraints;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.*;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.E164Validator;
+
+/**
+ * The annotated {@link CharSequence} must be a phone number in E.164 format: {@code +}
+ * followed by a country code not starting with {@code 0} and at most 15 digits in total.
+ *
+ * <p>
+ * Null values are valid; combine with {@code @NotNull} or {@code @NotBlank} to require a
+ * value.
+ */
+@Documented
+@Constraint(validatedBy = { E164Validator.class })
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface E164 {
+
+	String message() default "Not valid E.164 phone number.";
+
+	Class<?>[] groups() default {};
+
+	Class<? extends Payload>[] payload() default {};
+
+}
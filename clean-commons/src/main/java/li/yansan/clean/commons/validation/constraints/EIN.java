@@ -0,0 +1,28 @@
+package li.yansan.clean.commons.validation.constraints;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.*;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.EINValidator;
+
+/**
+ * The annotated {@link CharSequence} must be a US Employer Identification Number in the
+ * {@code NN-NNNNNNN} format with a prefix assigned by the IRS.
+ *
+ * <p>
+ * Null values are valid; combine with {@code @NotNull} or {@code @NotBlank} to require a
+ * value.
+ */
+@Documented
+@Constraint(validatedBy = { EINValidator.class })
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EIN {
+
+	String message() default "Not valid EIN.";
+
+	Class<?>[] groups() default {};
+
+	Class<? extends Payload>[] payload() default {};
+
+}
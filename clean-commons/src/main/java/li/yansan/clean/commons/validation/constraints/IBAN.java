@@ -0,0 +1,29 @@
+package li.yansan.clean.commons.validation.constraints;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.*;
+import li.yansan.clean.commons.validation.internal.constraintvalidators.IBANValidator;
+
+/**
+ * The annotated {@link CharSequence} must be an International Bank Account Number in
+ * electronic format (upper case, no spaces) with the length registered for its country
+ * and valid ISO 7064 mod 97-10 check digits.
+ *
+ * <p>
+ * Null values are valid; combine with {@code @NotNull} or {@code @NotBlank} to require a
+ * value.
+ */
+@Documented
+@Constraint(validatedBy = { IBANValidator.class })
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IBAN {
+
+	String message() default "Not valid IBAN.";
+
+	Class<?>[] groups() default {};
+
+	Class<? extends Payload>[] payload() default {};
+
+}
@@ -11,12 +11,19 @@ import li.yansan.clean.commons.validation.internal.constraintvalidators.SSNValid
 @Retention(RetentionPolicy.RUNTIME)
 public @interface SSN {
 
+	/**
+	 * The default {@link #pattern()}: no {@code 000}, {@code 666} or {@code 9xx} area, no
+	 * {@code 00} group and no {@code 0000} serial. Values are checked against it with a
+	 * character scanner instead of a regular expression.
+	 */
+	String DEFAULT_PATTERN = "^(?!000|666|9\\d{2})\\d{3}-(?!00)\\d{2}-(?!0{4})\\d{4}$";
+
 	String message() default "Not valid SSN.";
 
 	Class<?>[] groups() default {};
 
 	Class<? extends Payload>[] payload() default {};
 
-	String pattern() default "^(?!000|666|9\\d{2})\\d{3}-(?!00)\\d{2}-(?!0{4})\\d{4}$";
+	String pattern() default DEFAULT_PATTERN;
 
 }
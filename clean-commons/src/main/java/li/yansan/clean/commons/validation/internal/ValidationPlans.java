@@ -0,0 +1,279 @@
+package li.yansan.clean.commons.validation.internal;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import li.yansan.clean.commons.validation.GeneratedValidator;
+
+/**
+ * Per-class cache of precompiled validation plans.
+ *
+ * <p>
+ * A plan is built once per class from the Bean Validation metadata and tells whether an
+ * instance can be checked without a full {@link jakarta.validation.Validator#validate}
+ * pass:
+ *
+ * <ul>
+ * <li><b>Generated:</b> a {@link GeneratedValidator} is registered for the class;
+ * instances are checked by it without consulting any Bean Validation metadata.
+ * <li><b>Unconstrained:</b> the class declares no constraints and no cascades; instances
+ * are always valid.
+ * <li><b>Simple:</b> a record whose components only carry {@link NotNull} and/or
+ * {@code @Valid}; instances are checked by reading the components directly and recursing
+ * into cascaded values.
+ * <li><b>Full:</b> anything else; the generic validator has to run.
+ * </ul>
+ *
+ * <p>
+ * {@link #passes(Object)} never allocates when the object is valid and its graph only
+ * consists of generated, unconstrained and simple types. A {@code false} result does not
+ * mean the object is invalid, only that it could not be proven valid; callers then run
+ * the generic validator on the root so violations and their property paths are reported
+ * exactly as before.
+ */
+public final class ValidationPlans {
+
+	private static final int MAX_DEPTH = 32;
+
+	private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private final Supplier<jakarta.validation.Validator> validator;
+
+	private final Map<Class<?>, GeneratedValidator<?>> generated = new HashMap<>();
+
+	@SuppressWarnings("unchecked")
+	private final Predicate<Object>[] cascadeChecks = new Predicate[MAX_DEPTH + 1];
+
+	private final ClassValue<Plan> plans = new ClassValue<>() {
+		@Override
+		protected Plan computeValue(Class<?> type) {
+			return compile(type);
+		}
+	};
+
+	/**
+	 * Creates the plans and registers the generated validators found on the class path.
+	 * @param validator supplies the generic validator; only called for types without a
+	 * generated validator
+	 */
+	public ValidationPlans(Supplier<jakarta.validation.Validator> validator) {
+		this.validator = validator;
+		for (GeneratedValidator<?> generatedValidator : ServiceLoader.load(GeneratedValidator.class)) {
+			generated.put(generatedValidator.type(), generatedValidator);
+		}
+		for (int depth = 0; depth <= MAX_DEPTH; depth++) {
+			int next = depth + 1;
+			cascadeChecks[depth] = (value) -> !isContainer(value) && passes(value, next);
+		}
+	}
+
+	/**
+	 * Checks the object against its cached plan.
+	 * @param data the object to check; must not be null
+	 * @return {@code true} if the object is proven valid, {@code false} if a full
+	 * validation pass is required
+	 */
+	public boolean passes(Object data) {
+		return passes(data, 0);
+	}
+
+	/**
+	 * Adds the object and every record reachable from it through {@code @Valid} cascades
+	 * to the given set. Only records are added since they are treated as immutable; the
+	 * object must have been validated successfully.
+	 * @param data the validated object; must not be null
+	 * @param validated the identity set collecting validated instances
+	 */
+	public void markValidated(Object data, Set<Object> validated) {
+		markValidated(data, validated, 0);
+	}
+
+	private void markValidated(Object data, Set<Object> validated, int depth) {
+		if (depth >= MAX_DEPTH || !data.getClass().isRecord() || !validated.add(data)) {
+			return;
+		}
+		Plan plan = plans.get(data.getClass());
+		if (plan.kind() == Kind.GENERATED) {
+			// A valid instance visits all of its cascaded values.
+			plan.generated().isValid(data, (value) -> {
+				markValidated(value, validated, depth + 1);
+				return true;
+			});
+			return;
+		}
+		for (MethodHandle cascade : plan.cascades()) {
+			Object value = read(cascade, data);
+			if (value instanceof Iterable<?> elements) {
+				for (Object element : elements) {
+					if (element != null) {
+						markValidated(element, validated, depth + 1);
+					}
+				}
+			}
+			else if (value instanceof Map<?, ?> map) {
+				for (Object element : map.values()) {
+					if (element != null) {
+						markValidated(element, validated, depth + 1);
+					}
+				}
+			}
+			else if (value != null) {
+				markValidated(value, validated, depth + 1);
+			}
+		}
+	}
+
+	private boolean passes(Object data, int depth) {
+		Plan plan = plans.get(data.getClass());
+		switch (plan.kind()) {
+			case UNCONSTRAINED:
+				return true;
+			case GENERATED:
+				return depth < MAX_DEPTH && plan.generated().isValid(data, cascadeChecks[depth]);
+			case FULL:
+				// Only reached for cascaded values, which the cascade would validate on
+				// their own; on failure the caller re-validates the root.
+				return depth > 0 && validator.get().validate(data).isEmpty();
+			default:
+				break;
+		}
+		if (depth >= MAX_DEPTH) {
+			return false;
+		}
+		for (Property property : plan.properties()) {
+			Object value = read(property.accessor(), data);
+			if (value == null) {
+				if (property.notNull()) {
+					return false;
+				}
+			}
+			else if (property.cascaded()) {
+				if (isContainer(value) || !passes(value, depth + 1)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Plan compile(Class<?> type) {
+		GeneratedValidator<?> generatedValidator = generated.get(type);
+		if (generatedValidator != null) {
+			return new Plan(Kind.GENERATED, new Property[0], new MethodHandle[0],
+					(GeneratedValidator<Object>) generatedValidator);
+		}
+		if (type.isPrimitive() || type.getName().startsWith("java.")) {
+			// JDK types declare no constraints; no need to bootstrap the generic
+			// validator.
+			return Plan.UNCONSTRAINED;
+		}
+		BeanDescriptor bean = validator.get().getConstraintsForClass(type);
+		if (!bean.isBeanConstrained()) {
+			return Plan.UNCONSTRAINED;
+		}
+		if (!type.isRecord()) {
+			return Plan.FULL;
+		}
+		boolean simple = bean.getConstraintDescriptors().isEmpty();
+		List<Property> properties = new ArrayList<>();
+		List<MethodHandle> cascades = new ArrayList<>();
+		for (PropertyDescriptor descriptor : bean.getConstrainedProperties()) {
+			MethodHandle accessor = accessor(type, descriptor.getPropertyName());
+			boolean converted = !descriptor.getGroupConversions().isEmpty();
+			if (accessor == null || converted || !descriptor.getConstrainedContainerElementTypes().isEmpty()) {
+				simple = false;
+			}
+			boolean notNull = false;
+			for (ConstraintDescriptor<?> constraint : descriptor.getConstraintDescriptors()) {
+				if (isDefaultNotNull(constraint)) {
+					notNull = true;
+				}
+				else {
+					simple = false;
+				}
+			}
+			if (accessor != null) {
+				properties.add(new Property(accessor, notNull, descriptor.isCascaded()));
+				if (descriptor.isCascaded() && !converted) {
+					cascades.add(accessor);
+				}
+			}
+		}
+		return new Plan(simple ? Kind.SIMPLE : Kind.FULL, properties.toArray(Property[]::new),
+				cascades.toArray(MethodHandle[]::new), null);
+	}
+
+	private static boolean isDefaultNotNull(ConstraintDescriptor<?> constraint) {
+		return constraint.getAnnotation().annotationType() == NotNull.class
+				&& constraint.getGroups().equals(Set.of(Default.class))
+				&& constraint.getComposingConstraints().isEmpty();
+	}
+
+	private static MethodHandle accessor(Class<?> type, String name) {
+		for (RecordComponent component : type.getRecordComponents()) {
+			if (component.getName().equals(name)) {
+				try {
+					component.getAccessor().setAccessible(true);
+					return MethodHandles.lookup().unreflect(component.getAccessor()).asType(ACCESSOR_TYPE);
+				}
+				catch (RuntimeException | IllegalAccessException ex) {
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static boolean isContainer(Object value) {
+		return value instanceof Iterable || value instanceof Map || value instanceof Optional
+				|| value.getClass().isArray();
+	}
+
+	private static Object read(MethodHandle accessor, Object owner) {
+		try {
+			return (Object) accessor.invokeExact(owner);
+		}
+		catch (RuntimeException | Error ex) {
+			throw ex;
+		}
+		catch (Throwable ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private enum Kind {
+
+		UNCONSTRAINED, GENERATED, SIMPLE, FULL
+
+	}
+
+	private record Plan(Kind kind, Property[] properties, MethodHandle[] cascades,
+			GeneratedValidator<Object> generated) {
+
+		static final Plan UNCONSTRAINED = new Plan(Kind.UNCONSTRAINED, new Property[0], new MethodHandle[0], null);
+
+		static final Plan FULL = new Plan(Kind.FULL, new Property[0], new MethodHandle[0], null);
+
+	}
+
+	private record Property(MethodHandle accessor, boolean notNull, boolean cascaded) {
+
+	}
+
+}
@@ -0,0 +1,120 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import java.util.Arrays;
+
+/**
+ * Table-driven check-digit and character-class routines shared by the identifier
+ * validators.
+ *
+ * <p>
+ * All methods work directly on a {@link CharSequence} range and never allocate; the
+ * per-character work is a single table lookup.
+ */
+public final class CheckDigits {
+
+	/**
+	 * The value of each ASCII character as a base-36 digit ({@code 0-9} then
+	 * {@code A-Z}), or {@code -1}.
+	 */
+	private static final byte[] ALPHANUMERIC = new byte[128];
+
+	/**
+	 * The value of each ASCII character as a hexadecimal digit in either case, or
+	 * {@code -1}.
+	 */
+	private static final byte[] HEXADECIMAL = new byte[128];
+
+	/**
+	 * The Luhn contribution of a doubled digit: {@code 2d} with its digits summed.
+	 */
+	private static final int[] LUHN_DOUBLED = { 0, 2, 4, 6, 8, 1, 3, 5, 7, 9 };
+
+	static {
+		Arrays.fill(ALPHANUMERIC, (byte) -1);
+		Arrays.fill(HEXADECIMAL, (byte) -1);
+		for (char c = '0'; c <= '9'; c++) {
+			ALPHANUMERIC[c] = (byte) (c - '0');
+			HEXADECIMAL[c] = (byte) (c - '0');
+		}
+		for (char c = 'A'; c <= 'Z'; c++) {
+			ALPHANUMERIC[c] = (byte) (c - 'A' + 10);
+		}
+		for (char c = 'A'; c <= 'F'; c++) {
+			HEXADECIMAL[c] = (byte) (c - 'A' + 10);
+			HEXADECIMAL[c + ('a' - 'A')] = (byte) (c - 'A' + 10);
+		}
+	}
+
+	private CheckDigits() {
+	}
+
+	/**
+	 * @return the value of an ASCII decimal digit, or {@code -1}
+	 */
+	public static int digit(char c) {
+		return c >= '0' && c <= '9' ? c - '0' : -1;
+	}
+
+	/**
+	 * @return the value of {@code 0-9} or {@code A-Z} as a base-36 digit, or {@code -1}
+	 */
+	public static int alphanumeric(char c) {
+		return c < ALPHANUMERIC.length ? ALPHANUMERIC[c] : -1;
+	}
+
+	/**
+	 * @return the value of a hexadecimal digit in either case, or {@code -1}
+	 */
+	public static int hexadecimal(char c) {
+		return c < HEXADECIMAL.length ? HEXADECIMAL[c] : -1;
+	}
+
+	/**
+	 * @return whether every character in {@code [start, end)} is an ASCII decimal digit
+	 */
+	public static boolean isDigits(CharSequence value, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (digit(value.charAt(i)) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Runs the Luhn (mod 10) check over the decimal digits in {@code [start, end)}, the
+	 * last one being the check digit.
+	 * @return {@code true} if the range only holds digits and the check passes
+	 */
+	public static boolean luhn(CharSequence value, int start, int end) {
+		int sum = 0;
+		boolean doubled = false;
+		for (int i = end - 1; i >= start; i--) {
+			int digit = digit(value.charAt(i));
+			if (digit < 0) {
+				return false;
+			}
+			sum += doubled ? LUHN_DOUBLED[digit] : digit;
+			doubled = !doubled;
+		}
+		return sum % 10 == 0;
+	}
+
+	/**
+	 * Continues an ISO 7064 mod 97-10 computation over the base-36 characters in
+	 * {@code [start, end)}; letters count as two digits ({@code A} = 10).
+	 * @param remainder the remainder of the preceding characters, {@code 0} to start
+	 * @return the new remainder, or {@code -1} if the range holds another character
+	 */
+	public static int mod97(CharSequence value, int start, int end, int remainder) {
+		for (int i = start; i < end; i++) {
+			int digit = alphanumeric(value.charAt(i));
+			if (digit < 0) {
+				return -1;
+			}
+			remainder = (digit < 10 ? remainder * 10 + digit : remainder * 100 + digit) % 97;
+		}
+		return remainder;
+	}
+
+}
@@ -0,0 +1,30 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import java.util.Arrays;
+import java.util.Locale;
+import li.yansan.clean.commons.validation.constraints.CountryCode;
+
+/**
+ * Validates {@link CountryCode} values against a bitset of the ISO 3166-1 alpha-2 codes
+ * known to the JDK.
+ */
+public class CountryCodeValidator implements ConstraintValidator<CountryCode, CharSequence> {
+
+	private static final LetterCodes CODES = new LetterCodes(2, Arrays.asList(Locale.getISOCountries()));
+
+	@Override
+	public boolean isValid(CharSequence value, ConstraintValidatorContext constraintValidatorContext) {
+		return isValidValue(value);
+	}
+
+	/**
+	 * @param value the value to check
+	 * @return {@code true} if the value is null or a known country code
+	 */
+	public static boolean isValidValue(CharSequence value) {
+		return value == null || CODES.contains(value);
+	}
+
+}
@@ -0,0 +1,34 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import li.yansan.clean.commons.validation.constraints.CreditCard;
+
+/**
+ * Validates {@link CreditCard} values with the table-driven Luhn check of
+ * {@link CheckDigits}.
+ */
+public class CreditCardValidator implements ConstraintValidator<CreditCard, CharSequence> {
+
+	private static final int MIN_LENGTH = 12;
+
+	private static final int MAX_LENGTH = 19;
+
+	@Override
+	public boolean isValid(CharSequence value, ConstraintValidatorContext constraintValidatorContext) {
+		return isValidValue(value);
+	}
+
+	/**
+	 * @param value the value to check
+	 * @return {@code true} if the value is null or a valid card number
+	 */
+	public static boolean isValidValue(CharSequence value) {
+		if (value == null) {
+			return true;
+		}
+		return value.length() >= MIN_LENGTH && value.length() <= MAX_LENGTH
+				&& CheckDigits.luhn(value, 0, value.length());
+	}
+
+}
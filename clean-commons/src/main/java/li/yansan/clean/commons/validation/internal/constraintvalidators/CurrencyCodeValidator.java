@@ -0,0 +1,30 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import java.util.Currency;
+import li.yansan.clean.commons.validation.constraints.CurrencyCode;
+
+/**
+ * Validates {@link CurrencyCode} values against a bitset of the ISO 4217 codes known to
+ * the JDK.
+ */
+public class CurrencyCodeValidator implements ConstraintValidator<CurrencyCode, CharSequence> {
+
+	private static final LetterCodes CODES = new LetterCodes(3,
+			Currency.getAvailableCurrencies().stream().map(Currency::getCurrencyCode).toList());
+
+	@Override
+	public boolean isValid(CharSequence value, ConstraintValidatorContext constraintValidatorContext) {
+		return isValidValue(value);
+	}
+
+	/**
+	 * @param value the value to check
+	 * @return {@code true} if the value is null or a known currency code
+	 */
+	public static boolean isValidValue(CharSequence value) {
+		return value == null || CODES.contains(value);
+	}
+
+}
@@ -0,0 +1,32 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import li.yansan.clean.commons.validation.constraints.E164;
+
+/**
+ * Validates {@link E164} values with a character scanner.
+ */
+public class E164Validator implements ConstraintValidator<E164, CharSequence> {
+
+	private static final int MAX_DIGITS = 15;
+
+	@Override
+	public boolean isValid(CharSequence value, ConstraintValidatorContext constraintValidatorContext) {
+		return isValidValue(value);
+	}
+
+	/**
+	 * @param value the value to check
+	 * @return {@code true} if the value is null or a valid E.164 number
+	 */
+	public static boolean isValidValue(CharSequence value) {
+		if (value == null) {
+			return true;
+		}
+		int length = value.length();
+		return length >= 3 && length <= MAX_DIGITS + 1 && value.charAt(0) == '+' && value.charAt(1) != '0'
+				&& CheckDigits.isDigits(value, 1, length);
+	}
+
+}
@@ -0,0 +1,50 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import li.yansan.clean.commons.validation.constraints.EIN;
+
+/**
+ * Validates {@link EIN} values with a character scanner and a table of the prefixes
+ * assigned by the IRS.
+ */
+public class EINValidator implements ConstraintValidator<EIN, CharSequence> {
+
+	private static final int LENGTH = 10;
+
+	/**
+	 * Prefixes 00, 07-09, 17-19, 28-29, 49, 69-70, 78-79, 89 and 96-97 are not assigned.
+	 */
+	private static final boolean[] PREFIXES = new boolean[100];
+
+	static {
+		int[][] ranges = { { 1, 6 }, { 10, 16 }, { 20, 27 }, { 30, 48 }, { 50, 68 }, { 71, 77 }, { 80, 88 }, { 90, 95 },
+				{ 98, 99 } };
+		for (int[] range : ranges) {
+			for (int prefix = range[0]; prefix <= range[1]; prefix++) {
+				PREFIXES[prefix] = true;
+			}
+		}
+	}
+
+	@Override
+	public boolean isValid(CharSequence value, ConstraintValidatorContext constraintValidatorContext) {
+		return isValidValue(value);
+	}
+
+	/**
+	 * @param value the value to check
+	 * @return {@code true} if the value is null or a valid EIN
+	 */
+	public static boolean isValidValue(CharSequence value) {
+		if (value == null) {
+			return true;
+		}
+		if (value.length() != LENGTH || value.charAt(2) != '-' || !CheckDigits.isDigits(value, 0, 2)
+				|| !CheckDigits.isDigits(value, 3, LENGTH)) {
+			return false;
+		}
+		return PREFIXES[CheckDigits.digit(value.charAt(0)) * 10 + CheckDigits.digit(value.charAt(1))];
+	}
+
+}
@@ -0,0 +1,74 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import li.yansan.clean.commons.validation.constraints.IBAN;
+
+/**
+ * Validates {@link IBAN} values against the per-country lengths of the IBAN registry and
+ * the ISO 7064 mod 97-10 check of {@link CheckDigits}, without building the rearranged
+ * numeric string.
+ */
+public class IBANValidator implements ConstraintValidator<IBAN, CharSequence> {
+
+	private static final int MIN_LENGTH = 15;
+
+	private static final int MAX_LENGTH = 34;
+
+	/**
+	 * Country codes and IBAN lengths from the SWIFT IBAN registry.
+	 */
+	private static final String REGISTRY = "AD24 AE23 AL28 AT20 AZ28 BA20 BE16 BG22 BH22 BI27 BR29 BY28 CH21 CR22 "
+			+ "CY28 CZ24 DE22 DJ27 DK18 DO28 EE20 EG29 ES24 FI18 FK18 FO18 FR27 GB22 GE22 GI23 GL18 GR27 GT28 "
+			+ "HN28 HR21 HU28 IE22 IL23 IQ23 IS26 IT27 JO30 KW30 KZ20 LB28 LC32 LI21 LT20 LU20 LV21 LY25 MC27 "
+			+ "MD24 ME22 MK19 MN20 MR27 MT31 MU30 NI28 NL18 NO15 OM23 PK24 PL28 PS29 PT25 QA29 RO24 RS22 RU33 "
+			+ "SA24 SC31 SD18 SE24 SI19 SK24 SM27 SO23 ST25 SV28 TL23 TN24 TR26 UA29 VA22 VG24 XK20 YE30";
+
+	/**
+	 * The IBAN length of each country, indexed by the base-26 value of its code; zero for
+	 * countries without IBANs.
+	 */
+	private static final byte[] LENGTHS = new byte[26 * 26];
+
+	static {
+		for (String entry : REGISTRY.split(" ")) {
+			LENGTHS[country(entry)] = Byte.parseByte(entry.substring(2));
+		}
+	}
+
+	@Override
+	public boolean isValid(CharSequence value, ConstraintValidatorContext constraintValidatorContext) {
+		return isValidValue(value);
+	}
+
+	/**
+	 * @param value the value to check
+	 * @return {@code true} if the value is null or a valid IBAN
+	 */
+	public static boolean isValidValue(CharSequence value) {
+		if (value == null) {
+			return true;
+		}
+		int length = value.length();
+		if (length < MIN_LENGTH || length > MAX_LENGTH) {
+			return false;
+		}
+		int country = country(value);
+		if (country < 0 || LENGTHS[country] != length || !CheckDigits.isDigits(value, 2, 4)) {
+			return false;
+		}
+		// The check runs over the BBAN followed by the country code and check digits.
+		int remainder = CheckDigits.mod97(value, 4, length, 0);
+		return remainder >= 0 && CheckDigits.mod97(value, 0, 4, remainder) == 1;
+	}
+
+	private static int country(CharSequence value) {
+		char first = value.charAt(0);
+		char second = value.charAt(1);
+		if (first < 'A' || first > 'Z' || second < 'A' || second > 'Z') {
+			return -1;
+		}
+		return (first - 'A') * 26 + (second - 'A');
+	}
+
+}
@@ -0,0 +1,44 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+/**
+ * An immutable set of fixed-length upper case letter codes, such as ISO country or
+ * currency codes, stored as a bitset indexed by the base-26 value of the code.
+ */
+final class LetterCodes {
+
+	private final int length;
+
+	private final long[] bits;
+
+	LetterCodes(int length, Iterable<String> codes) {
+		this.length = length;
+		this.bits = new long[((int) Math.pow(26, length) + 63) / 64];
+		for (String code : codes) {
+			int index = index(code);
+			if (index >= 0) {
+				bits[index >>> 6] |= 1L << index;
+			}
+		}
+	}
+
+	boolean contains(CharSequence value) {
+		int index = index(value);
+		return index >= 0 && (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	private int index(CharSequence value) {
+		if (value.length() != length) {
+			return -1;
+		}
+		int index = 0;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < 'A' || c > 'Z') {
+				return -1;
+			}
+			index = index * 26 + (c - 'A');
+		}
+		return index;
+	}
+
+}
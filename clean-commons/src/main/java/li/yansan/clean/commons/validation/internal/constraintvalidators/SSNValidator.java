@@ -5,20 +5,79 @@ import jakarta.validation.ConstraintValidatorContext;
 import java.util.regex.Pattern;
 import li.yansan.clean.commons.validation.constraints.SSN;
 
+/**
+ * Validates {@link SSN} values.
+ *
+ * <p>
+ * The {@link SSN#DEFAULT_PATTERN default pattern} is checked by a character scanner
+ * working directly on the {@link CharSequence}, without allocating; a regular expression
+ * is only compiled for a custom {@link SSN#pattern()}. Null and blank values are valid.
+ */
 public class SSNValidator implements ConstraintValidator<SSN, CharSequence> {
 
+	private static final int LENGTH = 11;
+
 	private Pattern pattern;
 
 	public void initialize(SSN ssn) {
-		this.pattern = Pattern.compile(ssn.pattern());
+		this.pattern = SSN.DEFAULT_PATTERN.equals(ssn.pattern()) ? null : Pattern.compile(ssn.pattern());
 	}
 
 	@Override
 	public boolean isValid(CharSequence value, ConstraintValidatorContext constraintValidatorContext) {
-		if (value == null || value.isEmpty() || value.toString().isBlank()) {
+		if (value == null || isBlank(value)) {
 			return true;
 		}
-		return pattern.matcher(value).matches();
+		return pattern == null ? matchesDefaultPattern(value) : pattern.matcher(value).matches();
+	}
+
+	/**
+	 * Validates a value against the {@link SSN#DEFAULT_PATTERN default pattern} the same
+	 * way {@link #isValid} does; used by generated validators.
+	 * @param value the value to check
+	 * @return {@code true} if the value is null, blank or a valid SSN
+	 */
+	public static boolean isValidDefault(CharSequence value) {
+		return value == null || isBlank(value) || matchesDefaultPattern(value);
+	}
+
+	/**
+	 * Scans {@code AAA-GG-SSSS} with ASCII digits, rejecting the {@code 000}, {@code 666}
+	 * and {@code 9xx} areas, the {@code 00} group and the {@code 0000} serial.
+	 */
+	private static boolean matchesDefaultPattern(CharSequence value) {
+		if (value.length() != LENGTH || value.charAt(3) != '-' || value.charAt(6) != '-') {
+			return false;
+		}
+		int area = number(value, 0, 3);
+		int group = number(value, 4, 6);
+		int serial = number(value, 7, LENGTH);
+		return area > 0 && area != 666 && area < 900 && group > 0 && serial > 0;
+	}
+
+	/**
+	 * @return the decimal value of the digits in {@code [start, end)}, or {@code -1} if
+	 * any character is not an ASCII digit
+	 */
+	private static int number(CharSequence value, int start, int end) {
+		int number = 0;
+		for (int i = start; i < end; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			number = number * 10 + (c - '0');
+		}
+		return number;
+	}
+
+	private static boolean isBlank(CharSequence value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (!Character.isWhitespace(value.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 }
@@ -0,0 +1,41 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import li.yansan.clean.commons.validation.constraints.UUID;
+
+/**
+ * Validates {@link UUID} values with a character scanner, without parsing them into a
+ * {@link java.util.UUID}.
+ */
+public class UUIDValidator implements ConstraintValidator<UUID, CharSequence> {
+
+	private static final int LENGTH = 36;
+
+	@Override
+	public boolean isValid(CharSequence value, ConstraintValidatorContext constraintValidatorContext) {
+		return isValidValue(value);
+	}
+
+	/**
+	 * @param value the value to check
+	 * @return {@code true} if the value is null or a canonical UUID
+	 */
+	public static boolean isValidValue(CharSequence value) {
+		if (value == null) {
+			return true;
+		}
+		if (value.length() != LENGTH) {
+			return false;
+		}
+		for (int i = 0; i < LENGTH; i++) {
+			char c = value.charAt(i);
+			boolean valid = (i == 8 || i == 13 || i == 18 || i == 23) ? c == '-' : CheckDigits.hexadecimal(c) >= 0;
+			if (!valid) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,48 @@
+package li.yansan.clean.commons.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.junit.jupiter.api.Test;
+
+class ValidationContextTest {
+
+	@Test
+	void validateRecordsValidatedInstances() {
+		try (ValidationContext context = Validator.openContext()) {
+			Row row = new Row("a", new Cell("b"));
+			Validator.validate(row, ValidationSite.INTERNAL);
+			assertTrue(context.isValidated(row));
+			assertTrue(context.isValidated(row.cell()));
+		}
+	}
+
+	@Test
+	void validateTransientKeepsContextSizeFlat() {
+		try (ValidationContext context = Validator.openContext()) {
+			for (int i = 0; i < 100_000; i++) {
+				Validator.validateTransient(new Row("row " + i, new Cell("cell " + i)), ValidationSite.INTERNAL);
+			}
+			assertEquals(0, context.validated().size());
+		}
+	}
+
+	@Test
+	void validateTransientRejectsInvalidInstances() {
+		try (ValidationContext context = Validator.openContext()) {
+			assertThrows(ConstraintViolationException.class,
+					() -> Validator.validateTransient(new Row("a", new Cell(null)), ValidationSite.INTERNAL));
+		}
+	}
+
+	record Row(@NotNull String name, @Valid Cell cell) {
+	}
+
+	record Cell(@NotNull String value) {
+	}
+
+}
@@ -0,0 +1,124 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CheckDigits} against known check digits and straightforward reference
+ * implementations.
+ */
+class CheckDigitsTest {
+
+	@Test
+	void luhnAcceptsKnownCardNumbers() {
+		for (String value : new String[] { "79927398713", "4111111111111111", "5500005555555559", "378282246310005",
+				"6011111111111117", "0" }) {
+			assertTrue(CheckDigits.luhn(value, 0, value.length()), value);
+		}
+		for (String value : new String[] { "79927398710", "4111111111111112", "5500005555555558", "1" }) {
+			assertFalse(CheckDigits.luhn(value, 0, value.length()), value);
+		}
+		assertTrue(CheckDigits.luhn("x4111111111111111x", 1, 17));
+	}
+
+	@Test
+	void luhnMatchesReferenceOnRandomValues() {
+		Random random = new Random(11);
+		for (int i = 0; i < 100_000; i++) {
+			char[] value = new char[1 + random.nextInt(19)];
+			for (int j = 0; j < value.length; j++) {
+				value[j] = (char) ('0' + random.nextInt(10));
+			}
+			String number = new String(value);
+			assertEquals(referenceLuhn(number), CheckDigits.luhn(number, 0, number.length()), number);
+		}
+	}
+
+	@Test
+	void luhnRejectsNonDigits() {
+		assertFalse(CheckDigits.luhn("4111 1111 1111 1111", 0, 19));
+		assertFalse(CheckDigits.luhn("41111111111111a1", 0, 16));
+		assertFalse(CheckDigits.luhn("٤111111111111111", 0, 16));
+		assertFalse(CheckDigits.luhn("４111111111111111", 0, 16));
+	}
+
+	@Test
+	void mod97MatchesBigIntegerOnRandomValues() {
+		Random random = new Random(13);
+		String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+		for (int i = 0; i < 100_000; i++) {
+			char[] value = new char[1 + random.nextInt(34)];
+			for (int j = 0; j < value.length; j++) {
+				value[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+			}
+			String text = new String(value);
+			assertEquals(referenceMod97(text), CheckDigits.mod97(text, 0, text.length(), 0), text);
+		}
+	}
+
+	@Test
+	void mod97ContinuesFromARemainder() {
+		String value = "WEST12345698765432GB82";
+		int split = CheckDigits.mod97(value, 0, 10, 0);
+		assertEquals(CheckDigits.mod97(value, 0, value.length(), 0),
+				CheckDigits.mod97(value, 10, value.length(), split));
+		assertEquals(1, CheckDigits.mod97(value, 0, value.length(), 0));
+	}
+
+	@Test
+	void mod97RejectsLowercaseAndOtherCharacters() {
+		assertEquals(-1, CheckDigits.mod97("west", 0, 4, 0));
+		assertEquals(-1, CheckDigits.mod97("AB-C", 0, 4, 0));
+		assertEquals(-1, CheckDigits.mod97("AİB", 0, 3, 0));
+		assertEquals(-1, CheckDigits.mod97("１２", 0, 2, 0));
+	}
+
+	@Test
+	void classifiesCharacters() {
+		assertEquals(7, CheckDigits.digit('7'));
+		assertEquals(-1, CheckDigits.digit('a'));
+		assertEquals(-1, CheckDigits.digit('٧'));
+		assertEquals(0, CheckDigits.alphanumeric('0'));
+		assertEquals(10, CheckDigits.alphanumeric('A'));
+		assertEquals(35, CheckDigits.alphanumeric('Z'));
+		assertEquals(-1, CheckDigits.alphanumeric('a'));
+		assertEquals(-1, CheckDigits.alphanumeric('Ā'));
+		assertEquals(-1, CheckDigits.alphanumeric('￿'));
+		assertEquals(15, CheckDigits.hexadecimal('F'));
+		assertEquals(15, CheckDigits.hexadecimal('f'));
+		assertEquals(-1, CheckDigits.hexadecimal('g'));
+		assertEquals(-1, CheckDigits.hexadecimal('ａ'));
+		assertTrue(CheckDigits.isDigits("a0123456789b", 1, 11));
+		assertTrue(CheckDigits.isDigits("", 0, 0));
+		assertFalse(CheckDigits.isDigits("01٢3", 0, 4));
+	}
+
+	private static boolean referenceLuhn(String number) {
+		int sum = 0;
+		for (int i = 0; i < number.length(); i++) {
+			int digit = number.charAt(number.length() - 1 - i) - '0';
+			if (i % 2 == 1) {
+				digit *= 2;
+				if (digit > 9) {
+					digit -= 9;
+				}
+			}
+			sum += digit;
+		}
+		return sum % 10 == 0;
+	}
+
+	private static int referenceMod97(String value) {
+		StringBuilder digits = new StringBuilder();
+		for (int i = 0; i < value.length(); i++) {
+			digits.append(Character.digit(value.charAt(i), 36));
+		}
+		return new BigInteger(digits.toString()).mod(BigInteger.valueOf(97)).intValue();
+	}
+
+}
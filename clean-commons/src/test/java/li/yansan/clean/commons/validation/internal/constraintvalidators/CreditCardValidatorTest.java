@@ -0,0 +1,27 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class CreditCardValidatorTest {
+
+	@Test
+	void acceptsKnownCardNumbers() {
+		for (String value : new String[] { "4111111111111111", "4012888888881881", "5500005555555559",
+				"378282246310005", "6011111111111117", "3530111333300000", "4222222222222" }) {
+			assertTrue(CreditCardValidator.isValidValue(value), value);
+		}
+		assertTrue(CreditCardValidator.isValidValue(null));
+	}
+
+	@Test
+	void rejectsKnownInvalidCardNumbers() {
+		for (String value : new String[] { "4111111111111112", "5500005555555558", "378282246310006", "79927398713",
+				"41111111111111111111", "4111-1111-1111-1111", "4111 1111 1111 1111", "４111111111111111", "" }) {
+			assertFalse(CreditCardValidator.isValidValue(value), value);
+		}
+	}
+
+}
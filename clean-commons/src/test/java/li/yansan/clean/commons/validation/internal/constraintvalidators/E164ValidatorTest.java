@@ -0,0 +1,26 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class E164ValidatorTest {
+
+	@Test
+	void acceptsInternationalNumbers() {
+		for (String value : new String[] { "+14155552671", "+442071838750", "+12", "+123456789012345" }) {
+			assertTrue(E164Validator.isValidValue(value), value);
+		}
+		assertTrue(E164Validator.isValidValue(null));
+	}
+
+	@Test
+	void rejectsMalformedNumbers() {
+		for (String value : new String[] { "14155552671", "+1", "+", "", "+0123456", "+1234567890123456",
+				"+1 415 555 2671", "+1-415-555-2671", "++14155552671", "+١٤١٥٥٥٥٢٦٧١", "+１4155552671" }) {
+			assertFalse(E164Validator.isValidValue(value), value);
+		}
+	}
+
+}
@@ -0,0 +1,32 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class EINValidatorTest {
+
+	private static final Set<Integer> UNASSIGNED = Set.of(0, 7, 8, 9, 17, 18, 19, 28, 29, 49, 69, 70, 78, 79, 89, 96,
+			97);
+
+	@Test
+	void acceptsOnlyAssignedPrefixes() {
+		for (int prefix = 0; prefix < 100; prefix++) {
+			String value = String.format("%02d-1234567", prefix);
+			assertEquals(!UNASSIGNED.contains(prefix), EINValidator.isValidValue(value), value);
+		}
+		assertTrue(EINValidator.isValidValue(null));
+	}
+
+	@Test
+	void rejectsMalformedValues() {
+		for (String value : new String[] { "121234567", "12-123456", "12-12345678", "12 1234567", "1a-1234567",
+				"12-123456a", "١٢-1234567", "12-١234567", "" }) {
+			assertFalse(EINValidator.isValidValue(value), value);
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class IBANValidatorTest {
+
+	@Test
+	void acceptsKnownIBANs() {
+		for (String value : new String[] { "GB82WEST12345698765432", "DE89370400440532013000",
+				"FR1420041010050500013M02606", "NO9386011117947", "BE68539007547034", "CH9300762011623852957",
+				"MT84MALT011000012345MTLCAST001S", "LC55HEMM000100010012001200023015" }) {
+			assertTrue(IBANValidator.isValidValue(value), value);
+			assertTrue(IBANValidator.isValidValue(new StringBuilder(value)), value);
+		}
+		assertTrue(IBANValidator.isValidValue(null));
+	}
+
+	@Test
+	void rejectsKnownInvalidIBANs() {
+		for (String value : new String[] { "GB82WEST12345698765431", "GB28WEST12345698765432", "DE89370400440532013001",
+				"GB82WEST1234569876543", "GB82WEST123456987654321", "US12345678901234567", "XX82WEST12345698765432",
+				"GBX2WEST12345698765432", "GB82 WEST 1234 5698 7654 32", "" }) {
+			assertFalse(IBANValidator.isValidValue(value), value);
+		}
+	}
+
+	@Test
+	void rejectsLowercaseAndNonAsciiCharacters() {
+		assertFalse(IBANValidator.isValidValue("gb82west12345698765432"));
+		assertFalse(IBANValidator.isValidValue("GB82west12345698765432"));
+		assertFalse(IBANValidator.isValidValue("ＧＢ82WEST12345698765432"));
+		assertFalse(IBANValidator.isValidValue("GB٨٢WEST12345698765432"));
+		assertFalse(IBANValidator.isValidValue("GB82WESTİ2345698765432"));
+	}
+
+	@Test
+	void followsRegistryLengths() {
+		Map<String, Integer> lengths = Map.of("NO", 15, "BE", 16, "DK", 18, "DE", 22, "IT", 27, "BR", 29, "MT", 31,
+				"LC", 32, "RU", 33);
+		lengths.forEach((country, registered) -> {
+			for (int length = 15; length <= 34; length++) {
+				assertEquals(length == registered, IBANValidator.isValidValue(iban(country, length)),
+						country + " with length " + length);
+			}
+		});
+		for (String country : new String[] { "US", "CA", "AA", "ZZ" }) {
+			for (int length = 15; length <= 34; length++) {
+				assertFalse(IBANValidator.isValidValue(iban(country, length)), country + " with length " + length);
+			}
+		}
+		assertFalse(IBANValidator.isValidValue(iban("NO", 14)));
+		assertFalse(IBANValidator.isValidValue(iban("DE", 35)));
+	}
+
+	/**
+	 * @return an IBAN of the given length with a numeric BBAN and correct check digits
+	 */
+	private static String iban(String country, int length) {
+		String bban = "1234567890".repeat(4).substring(0, length - 4);
+		StringBuilder digits = new StringBuilder(bban);
+		for (char c : (country + "00").toCharArray()) {
+			digits.append(Character.digit(c, 36));
+		}
+		int check = 98 - new BigInteger(digits.toString()).mod(BigInteger.valueOf(97)).intValue();
+		return country + String.format("%02d", check) + bban;
+	}
+
+}
@@ -0,0 +1,91 @@
+package li.yansan.clean.commons.validation.internal.constraintvalidators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import li.yansan.clean.commons.validation.constraints.SSN;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differential test of the {@link SSNValidator} scanner against
+ * {@link SSN#DEFAULT_PATTERN}, the regular expression it replaces.
+ */
+class SSNValidatorTest {
+
+	private static final Pattern DEFAULT_PATTERN = Pattern.compile(SSN.DEFAULT_PATTERN);
+
+	@SSN
+	private String ssn;
+
+	private final SSNValidator validator = defaultValidator();
+
+	@Test
+	void matchesPatternOnBoundaries() {
+		int[] areas = { 0, 1, 99, 100, 665, 666, 667, 899, 900, 999 };
+		int[] groups = { 0, 1, 10, 99 };
+		int[] serials = { 0, 1, 1000, 9999 };
+		List<String> values = new ArrayList<>();
+		for (int area : areas) {
+			for (int group : groups) {
+				for (int serial : serials) {
+					values.add(String.format("%03d-%02d-%04d", area, group, serial));
+				}
+			}
+		}
+		for (int area = 0; area < 1000; area++) {
+			values.add(String.format("%03d-01-0001", area));
+		}
+		values.addAll(List.of("", " ", "\t\n", " ", "123-45-67890", "123-45-678", "123 45 6789", "123456789",
+				"١٢٣-45-6789", "123-45-6789\n", " 123-45-6789", "12a-45-6789", "123--5-6789", "𝟏23-45-6789"));
+		for (String value : values) {
+			assertMatchesPattern(value);
+		}
+	}
+
+	@Test
+	void matchesPatternOnRandomValues() {
+		Random random = new Random(7);
+		char[] noise = "0123456789- ٠x\n".toCharArray();
+		for (int i = 0; i < 200_000; i++) {
+			char[] value = new char[9 + random.nextInt(4)];
+			for (int j = 0; j < value.length; j++) {
+				if ((j == 3 || j == 6) && random.nextInt(10) > 0) {
+					value[j] = '-';
+				}
+				else if (random.nextInt(20) == 0) {
+					value[j] = noise[random.nextInt(noise.length)];
+				}
+				else {
+					value[j] = (char) ('0' + random.nextInt(10));
+				}
+			}
+			assertMatchesPattern(new String(value));
+		}
+	}
+
+	/**
+	 * Null and blank values are valid, as they are for {@link SSNValidator#isValid}.
+	 */
+	private void assertMatchesPattern(String value) {
+		boolean expected = value.isBlank() || DEFAULT_PATTERN.matcher(value).matches();
+		assertEquals(expected, SSNValidator.isValidDefault(value), () -> "isValidDefault(\"" + value + "\")");
+		assertEquals(expected, validator.isValid(value, null), () -> "isValid(\"" + value + "\")");
+		assertEquals(expected, validator.isValid(new StringBuilder(value), null),
+				() -> "isValid(new StringBuilder(\"" + value + "\"))");
+	}
+
+	private static SSNValidator defaultValidator() {
+		try {
+			SSNValidator validator = new SSNValidator();
+			validator.initialize(SSNValidatorTest.class.getDeclaredField("ssn").getAnnotation(SSN.class));
+			return validator;
+		}
+		catch (NoSuchFieldException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+package li.yansan.clean.platform;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event emitted for every {@code send} call of {@link RepositoryBase},
+ * {@link ClientBase} and {@link MessengerBase}.
+ *
+ * <p>
+ * The event duration covers the whole call; the stage fields break it down. Stages that
+ * did not run because an earlier one failed are zero.
+ */
+@Name("li.yansan.clean.AdapterCall")
+@Label("Adapter Call")
+@Category({ "Clean Architecture", "Adapter" })
+@Description("A send call of a repository, client or messenger adapter")
+@StackTrace(false)
+final class AdapterCallEvent extends jdk.jfr.Event {
+
+	@Label("Adapter")
+	Class<?> adapter;
+
+	@Label("Actor Type")
+	Class<?> actorType;
+
+	@Label("Convert Payload")
+	@Timespan
+	long convertPayload;
+
+	@Label("Validate")
+	@Timespan
+	long validate;
+
+	@Label("Process")
+	@Timespan
+	long process;
+
+	@Label("Convert To Body")
+	@Timespan
+	long convertToBody;
+
+	@Label("Success")
+	boolean success;
+
+	void setStage(AdapterStage stage, long nanos) {
+		switch (stage) {
+			case CONVERT_PAYLOAD -> convertPayload = nanos;
+			case VALIDATE -> validate = nanos;
+			case PROCESS -> process = nanos;
+			case CONVERT_TO_BODY -> convertToBody = nanos;
+		}
+	}
+
+}
@@ -0,0 +1,23 @@
+package li.yansan.clean.platform;
+
+/**
+ * Sink receiving the duration and outcome of every stage of the adapter {@code send}
+ * template methods ({@link RepositoryBase}, {@link ClientBase}, {@link MessengerBase}).
+ *
+ * <p>
+ * Install a sink with {@link Instrumentation#install(AdapterMetrics)};
+ * {@link InMemoryAdapterMetrics} is the built-in implementation. Implementations are
+ * called on the hot path from many threads and must be thread-safe and cheap.
+ */
+public interface AdapterMetrics {
+
+	/**
+	 * Records one stage of one {@code send} call.
+	 * @param adapter the concrete adapter class
+	 * @param stage the stage that ran
+	 * @param nanos the duration of the stage in nanoseconds
+	 * @param success {@code false} if the stage threw
+	 */
+	void record(Class<?> adapter, AdapterStage stage, long nanos, boolean success);
+
+}
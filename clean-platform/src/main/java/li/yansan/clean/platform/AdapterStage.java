@@ -0,0 +1,12 @@
+package li.yansan.clean.platform;
+
+/**
+ * The steps of the adapter {@code send} template methods, in execution order.
+ *
+ * @see AdapterMetrics
+ */
+public enum AdapterStage {
+
+	CONVERT_PAYLOAD, VALIDATE, PROCESS, CONVERT_TO_BODY
+
+}
@@ -0,0 +1,64 @@
+package li.yansan.clean.platform;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.client.Client;
+import li.yansan.clean.application.client.ClientRequest;
+import li.yansan.clean.application.client.ClientResponse;
+import li.yansan.clean.commons.validation.Validator;
+
+/**
+ * Non-blocking counterpart of {@link ClientBase} for external APIs with asynchronous
+ * drivers.
+ *
+ * <p>
+ * The pipeline is the same (convert, validate, process, convert) but
+ * {@link #process(Object)} returns a {@link CompletionStage} and the remaining steps are
+ * composed onto it, so no thread waits for the external system. Conversion and validation
+ * failures, as well as a {@code process} that throws instead of returning a stage or
+ * returns null, complete the returned stage exceptionally.
+ *
+ * <p>
+ * {@link #send(ClientRequest)} is kept for blocking callers and waits for
+ * {@link #sendAsync(ClientRequest)}, rethrowing its failure unwrapped.
+ *
+ * @param <TI> the type of the client input
+ * @param <TO> the type of the client output
+ * @param <UPayload> the type of the use case payload
+ * @param <UBody> the type of the use case response body
+ */
+public abstract class AsyncClientBase<TI, TO, UPayload, UBody> implements Client<UPayload, UBody> {
+
+	public ClientResponse<UBody> send(ClientRequest<UPayload> request) {
+		return Futures.join(sendAsync(request));
+	}
+
+	@Override
+	public CompletionStage<ClientResponse<UBody>> sendAsync(ClientRequest<UPayload> request) {
+		Objects.requireNonNull(request, "ClientRequest can not be null.");
+		CompletionStage<TO> output;
+		try {
+			TI input = convertPayload(request.actor(), request.payload());
+			validate(input);
+			output = Objects.requireNonNull(process(input), "CompletionStage can not be null.");
+		}
+		catch (RuntimeException ex) {
+			return CompletableFuture.failedStage(ex);
+		}
+		return output.thenApply(this::convertToBody).thenApply(ClientResponse::new);
+	}
+
+	protected abstract TI convertPayload(Actor actor, UPayload payload);
+
+	protected void validate(TI input) {
+		Validator.validate(input);
+	}
+
+	protected abstract CompletionStage<TO> process(TI input);
+
+	protected abstract UBody convertToBody(TO output);
+
+}
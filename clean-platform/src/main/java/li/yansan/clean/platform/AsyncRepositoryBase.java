@@ -0,0 +1,64 @@
+package li.yansan.clean.platform;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.repository.Repository;
+import li.yansan.clean.application.repository.RepositoryRequest;
+import li.yansan.clean.application.repository.RepositoryResponse;
+import li.yansan.clean.commons.validation.Validator;
+
+/**
+ * Non-blocking counterpart of {@link RepositoryBase} for databases with asynchronous
+ * drivers.
+ *
+ * <p>
+ * The pipeline is the same (convert, validate, process, convert) but
+ * {@link #process(Object)} returns a {@link CompletionStage} and the remaining steps are
+ * composed onto it, so no thread waits for the external system. Conversion and validation
+ * failures, as well as a {@code process} that throws instead of returning a stage or
+ * returns null, complete the returned stage exceptionally.
+ *
+ * <p>
+ * {@link #send(RepositoryRequest)} is kept for blocking callers and waits for
+ * {@link #sendAsync(RepositoryRequest)}, rethrowing its failure unwrapped.
+ *
+ * @param <TI> the type of the database input
+ * @param <TO> the type of the database output
+ * @param <UPayload> the type of the use case payload
+ * @param <UBody> the type of the use case response body
+ */
+public abstract class AsyncRepositoryBase<TI, TO, UPayload, UBody> implements Repository<UPayload, UBody> {
+
+	public RepositoryResponse<UBody> send(RepositoryRequest<UPayload> request) {
+		return Futures.join(sendAsync(request));
+	}
+
+	@Override
+	public CompletionStage<RepositoryResponse<UBody>> sendAsync(RepositoryRequest<UPayload> request) {
+		Objects.requireNonNull(request, "RepositoryRequest can not be null.");
+		CompletionStage<TO> output;
+		try {
+			TI input = convertPayload(request.sender(), request.payload());
+			validate(input);
+			output = Objects.requireNonNull(process(input), "CompletionStage can not be null.");
+		}
+		catch (RuntimeException ex) {
+			return CompletableFuture.failedStage(ex);
+		}
+		return output.thenApply(this::convertToBody).thenApply(RepositoryResponse::new);
+	}
+
+	protected abstract TI convertPayload(Actor actor, UPayload payload);
+
+	protected void validate(TI input) {
+		Validator.validate(input);
+	}
+
+	protected abstract CompletionStage<TO> process(TI input);
+
+	protected abstract UBody convertToBody(TO output);
+
+}
@@ -0,0 +1,259 @@
+package li.yansan.clean.platform;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.messaging.Messenger;
+import li.yansan.clean.application.messaging.MessengerRequest;
+import li.yansan.clean.application.messaging.MessengerResponse;
+import li.yansan.clean.commons.validation.Validator;
+
+/**
+ * Messenger adapter that coalesces concurrent sends into grouped publishes.
+ *
+ * <p>
+ * Each {@link #send(MessengerRequest)} converts and validates its payload like
+ * {@link MessengerBase}, then queues the converted input. A background publisher thread
+ * collects queued inputs until {@code maxBatchSize} is reached or {@code linger} has
+ * elapsed since the first one, and calls {@link #processBatch(List)} once for the whole
+ * group. Every caller then receives the response built from its own output, converted on
+ * the calling thread for {@link #send(MessengerRequest)} and on a virtual thread for
+ * {@link #sendAsync(MessengerRequest)}, so that the publisher thread only publishes.
+ *
+ * <p>
+ * A failure of {@code processBatch} fails every send of the batch. {@link #close()}
+ * publishes the inputs already queued and rejects later sends. If the publisher thread is
+ * interrupted, the messenger closes itself and fails the sends still queued.
+ *
+ * @param <TI> the type of the infrastructure input (e.g., Message DTO)
+ * @param <TO> the type of the infrastructure output (e.g., Send Result)
+ * @param <UPayload> the type of the use case payload
+ * @param <UBody> the type of the use case response body
+ */
+public abstract class BatchingMessengerBase<TI, TO, UPayload, UBody>
+		implements Messenger<UPayload, UBody>, AutoCloseable {
+
+	private static final Pending<?, ?> CLOSE = new Pending<>(null, null);
+
+	private static final Executor CALLBACKS = Thread::startVirtualThread;
+
+	private final BlockingQueue<Pending<TI, TO>> queue = new LinkedBlockingQueue<>();
+
+	private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+
+	private final int maxBatchSize;
+
+	private final long lingerNanos;
+
+	private volatile Thread publisher;
+
+	private boolean closed;
+
+	/**
+	 * @param maxBatchSize the maximum number of inputs per {@link #processBatch(List)}
+	 * call; must be positive
+	 * @param linger how long the first queued input may wait for others to join its
+	 * batch; must not be negative
+	 */
+	protected BatchingMessengerBase(int maxBatchSize, Duration linger) {
+		if (maxBatchSize <= 0) {
+			throw new IllegalArgumentException("Max batch size must be positive.");
+		}
+		if (linger == null || linger.isNegative()) {
+			throw new IllegalArgumentException("Linger can not be negative.");
+		}
+		this.maxBatchSize = maxBatchSize;
+		this.lingerNanos = linger.toNanos();
+	}
+
+	public MessengerResponse<UBody> send(MessengerRequest<UPayload> request) {
+		return new MessengerResponse<>(convertToBody(Futures.join(enqueue(request))));
+	}
+
+	@Override
+	public CompletionStage<MessengerResponse<UBody>> sendAsync(MessengerRequest<UPayload> request) {
+		return enqueue(request).thenApplyAsync((output) -> new MessengerResponse<>(convertToBody(output)), CALLBACKS);
+	}
+
+	protected abstract TI convertPayload(Actor actor, UPayload payload);
+
+	protected void validate(TI input) {
+		Validator.validate(input);
+	}
+
+	/**
+	 * Publishes a group of inputs in one round trip to the messaging system.
+	 * @param inputs the queued inputs, in arrival order
+	 * @return one output per input, in the same order
+	 */
+	protected abstract List<TO> processBatch(List<TI> inputs);
+
+	protected abstract UBody convertToBody(TO output);
+
+	/**
+	 * Publishes the inputs already queued, then stops the publisher thread. Sends made
+	 * after this call fail.
+	 */
+	@Override
+	public void close() {
+		Thread running;
+		lifecycle.writeLock().lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			running = publisher;
+			if (running != null) {
+				queue.add(closeSignal());
+			}
+		}
+		finally {
+			lifecycle.writeLock().unlock();
+		}
+		if (running != null) {
+			try {
+				running.join();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private CompletableFuture<TO> enqueue(MessengerRequest<UPayload> request) {
+		Objects.requireNonNull(request, "MessengerRequest can not be null.");
+		TI input;
+		try {
+			input = convertPayload(request.sender(), request.payload());
+			validate(input);
+		}
+		catch (RuntimeException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+		Pending<TI, TO> pending = new Pending<>(input, new CompletableFuture<>());
+		lifecycle.readLock().lock();
+		try {
+			if (closed) {
+				return CompletableFuture.failedFuture(new IllegalStateException("Messenger is closed."));
+			}
+			startPublisher();
+			queue.add(pending);
+		}
+		finally {
+			lifecycle.readLock().unlock();
+		}
+		return pending.output();
+	}
+
+	private void startPublisher() {
+		// Called under the read lock, so concurrent first sends race for the start.
+		if (publisher == null) {
+			synchronized (this) {
+				if (publisher == null) {
+					// Outlives the send that starts it, so it does not inherit its actor.
+					publisher = Thread.ofVirtual()
+						.name(getClass().getSimpleName() + "-publisher")
+						.inheritInheritableThreadLocals(false)
+						.start(this::publish);
+				}
+			}
+		}
+	}
+
+	private void publish() {
+		List<Pending<TI, TO>> batch = new ArrayList<>(maxBatchSize);
+		boolean running = true;
+		try {
+			while (running) {
+				try {
+					Pending<TI, TO> first = queue.take();
+					long deadline = System.nanoTime() + lingerNanos;
+					Pending<TI, TO> next = first;
+					while (next != null) {
+						if (next == CLOSE) {
+							running = false;
+							break;
+						}
+						batch.add(next);
+						if (batch.size() >= maxBatchSize) {
+							break;
+						}
+						next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					}
+				}
+				catch (InterruptedException ex) {
+					running = false;
+				}
+				if (!batch.isEmpty()) {
+					flush(batch);
+					batch.clear();
+				}
+			}
+		}
+		finally {
+			stopped();
+		}
+	}
+
+	/**
+	 * Closes the messenger once the publisher stops, and fails the sends it left queued.
+	 */
+	private void stopped() {
+		lifecycle.writeLock().lock();
+		try {
+			closed = true;
+		}
+		finally {
+			lifecycle.writeLock().unlock();
+		}
+		// No send can be queued any more.
+		IllegalStateException failure = new IllegalStateException("Messenger publisher has stopped.");
+		for (Pending<TI, TO> pending = queue.poll(); pending != null; pending = queue.poll()) {
+			if (pending != CLOSE) {
+				pending.output().completeExceptionally(failure);
+			}
+		}
+	}
+
+	private void flush(List<Pending<TI, TO>> batch) {
+		List<TI> inputs = new ArrayList<>(batch.size());
+		for (Pending<TI, TO> pending : batch) {
+			inputs.add(pending.input());
+		}
+		try {
+			List<TO> outputs = processBatch(inputs);
+			if (outputs.size() != inputs.size()) {
+				throw new IllegalStateException("processBatch must return one output per input.");
+			}
+			for (int i = 0; i < batch.size(); i++) {
+				batch.get(i).output().complete(outputs.get(i));
+			}
+		}
+		catch (RuntimeException | Error ex) {
+			for (Pending<TI, TO> pending : batch) {
+				pending.output().completeExceptionally(ex);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Pending<TI, TO> closeSignal() {
+		return (Pending<TI, TO>) CLOSE;
+	}
+
+	private record Pending<TI, TO>(TI input, CompletableFuture<TO> output) {
+	}
+
+}
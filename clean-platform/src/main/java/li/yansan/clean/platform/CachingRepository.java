@@ -0,0 +1,280 @@
+package li.yansan.clean.platform;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Function;
+
+import li.yansan.clean.application.repository.Repository;
+import li.yansan.clean.application.repository.RepositoryRequest;
+import li.yansan.clean.application.repository.RepositoryResponse;
+
+/**
+ * Read-through caching decorator for a {@link Repository}.
+ *
+ * <p>
+ * Responses are cached by a key extracted from the request payload, so repeated reads of
+ * the same data are answered without calling the delegate. Use cases keep depending on
+ * {@link Repository} and are unaware of the cache.
+ *
+ * <p>
+ * <b>Features:</b>
+ *
+ * <ul>
+ * <li><b>Size Bound:</b> At most {@code maximumSize} entries are kept. The
+ * {@link Eviction} policy picks which ones.
+ * <li><b>Expiry:</b> Entries older than {@code ttl} are reloaded from the delegate.
+ * <li><b>Invalidation:</b> {@link #invalidate(Object)} and {@link #invalidateAll()} drop
+ * entries after writes. Loads in flight when either is called are returned to their
+ * callers but not cached, since they may have read the data before the write.
+ * <li><b>Statistics:</b> {@link #statistics()} reports hits, misses and evictions.
+ * </ul>
+ *
+ * <p>
+ * Concurrent misses on the same key each call the delegate; failures are not cached.
+ *
+ * <p>
+ * Every request, hit or miss, updates the recency order and the frequency sketch under
+ * one lock, so concurrent readers serialize on it. This suits caches in front of slow
+ * delegates; on hot paths with many concurrent readers of the same cache, the lock
+ * becomes the bottleneck.
+ *
+ * <pre>{@code
+ * Repository<CountryCode, Country> countries = new CachingRepository<>(
+ *     new JdbcCountryRepository(dataSource), CountryCode::value,
+ *     10_000, Duration.ofMinutes(5), CachingRepository.Eviction.TINY_LFU);
+ * }</pre>
+ *
+ * @param <UPayload> the type of the request payload
+ * @param <UBody> the type of the response body
+ */
+public final class CachingRepository<UPayload, UBody> implements Repository<UPayload, UBody> {
+
+	private final Repository<UPayload, UBody> delegate;
+
+	private final Function<UPayload, ?> keyExtractor;
+
+	private final int maximumSize;
+
+	private final long ttlNanos;
+
+	private final FrequencySketch sketch;
+
+	private final LinkedHashMap<Object, Entry<UBody>> entries;
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	/**
+	 * Incremented by every invalidation; a load started in an earlier generation is not
+	 * cached.
+	 */
+	private long generation;
+
+	/**
+	 * @param delegate the repository to load missing entries from
+	 * @param keyExtractor extracts the cache key from a request payload
+	 * @param maximumSize the maximum number of cached entries; must be positive
+	 * @param ttl how long an entry is served after it was loaded; must be positive
+	 * @param eviction the eviction policy applied when the cache is full
+	 */
+	public CachingRepository(Repository<UPayload, UBody> delegate, Function<UPayload, ?> keyExtractor, int maximumSize,
+			Duration ttl, Eviction eviction) {
+		Objects.requireNonNull(delegate, "Repository can not be null.");
+		Objects.requireNonNull(keyExtractor, "Key extractor can not be null.");
+		Objects.requireNonNull(eviction, "Eviction can not be null.");
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Maximum size must be positive.");
+		}
+		if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+			throw new IllegalArgumentException("TTL must be positive.");
+		}
+		this.delegate = delegate;
+		this.keyExtractor = keyExtractor;
+		this.maximumSize = maximumSize;
+		this.ttlNanos = ttl.toNanos();
+		this.sketch = eviction == Eviction.TINY_LFU ? new FrequencySketch(maximumSize) : null;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	@Override
+	public RepositoryResponse<UBody> send(RepositoryRequest<UPayload> request) {
+		Objects.requireNonNull(request, "RepositoryRequest can not be null.");
+		Object key = Objects.requireNonNull(keyExtractor.apply(request.payload()), "Cache key can not be null.");
+		long loadGeneration;
+		synchronized (entries) {
+			if (sketch != null) {
+				sketch.increment(key);
+			}
+			Entry<UBody> entry = entries.get(key);
+			if (entry != null) {
+				if (System.nanoTime() - entry.loadedAt() < ttlNanos) {
+					hits++;
+					return entry.response();
+				}
+				entries.remove(key);
+			}
+			misses++;
+			loadGeneration = generation;
+		}
+		RepositoryResponse<UBody> response = delegate.send(request);
+		store(key, new Entry<>(response, System.nanoTime()), loadGeneration);
+		return response;
+	}
+
+	/**
+	 * Removes the entry cached for the given payload.
+	 * @param payload the payload whose key is invalidated
+	 */
+	public void invalidate(UPayload payload) {
+		Object key = keyExtractor.apply(payload);
+		synchronized (entries) {
+			generation++;
+			entries.remove(key);
+		}
+	}
+
+	public void invalidateAll() {
+		synchronized (entries) {
+			generation++;
+			entries.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public Statistics statistics() {
+		synchronized (entries) {
+			return new Statistics(hits, misses, evictions);
+		}
+	}
+
+	private void store(Object key, Entry<UBody> entry, long loadGeneration) {
+		synchronized (entries) {
+			if (generation != loadGeneration) {
+				return;
+			}
+			if (!entries.containsKey(key) && entries.size() >= maximumSize) {
+				Iterator<Object> eldest = entries.keySet().iterator();
+				Object victim = eldest.next();
+				if (sketch != null && sketch.frequency(key) <= sketch.frequency(victim)) {
+					// TinyLFU admission: a rarely requested key does not displace a
+					// popular one.
+					return;
+				}
+				eldest.remove();
+				evictions++;
+			}
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Eviction policy applied when the cache is full.
+	 */
+	public enum Eviction {
+
+		/**
+		 * Evicts the least recently used entry.
+		 */
+		LRU,
+
+		/**
+		 * Admits a new entry only if it was requested more often than the least recently
+		 * used entry it would evict, using a TinyLFU frequency sketch. Protects the cache
+		 * against one-off scans.
+		 */
+		TINY_LFU
+
+	}
+
+	/**
+	 * Cache statistics since creation.
+	 *
+	 * @param hits the number of requests answered from the cache
+	 * @param misses the number of requests sent to the delegate
+	 * @param evictions the number of entries evicted to respect the maximum size
+	 */
+	public record Statistics(long hits, long misses, long evictions) {
+
+		public double hitRate() {
+			long requests = hits + misses;
+			return requests == 0 ? 0 : (double) hits / requests;
+		}
+
+	}
+
+	private record Entry<UBody>(RepositoryResponse<UBody> response, long loadedAt) {
+	}
+
+	/**
+	 * Count-min sketch of 4-bit counters estimating how often keys are requested. All
+	 * counters are halved periodically so the estimate follows recent popularity.
+	 */
+	private static final class FrequencySketch {
+
+		private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+				0xcbf29ce484222325L };
+
+		private final byte[] counters;
+
+		private final int mask;
+
+		private final int sampleSize;
+
+		private int samples;
+
+		FrequencySketch(int maximumSize) {
+			int size = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 26)) * 4 - 1) << 1;
+			this.counters = new byte[size];
+			this.mask = size - 1;
+			this.sampleSize = Math.max(10 * maximumSize, 10);
+		}
+
+		void increment(Object key) {
+			int hash = spread(key.hashCode());
+			for (long seed : SEEDS) {
+				int index = indexOf(hash, seed);
+				if (counters[index] < 15) {
+					counters[index]++;
+				}
+			}
+			if (++samples >= sampleSize) {
+				for (int i = 0; i < counters.length; i++) {
+					counters[i] >>= 1;
+				}
+				samples /= 2;
+			}
+		}
+
+		int frequency(Object key) {
+			int hash = spread(key.hashCode());
+			int frequency = 15;
+			for (long seed : SEEDS) {
+				frequency = Math.min(frequency, counters[indexOf(hash, seed)]);
+			}
+			return frequency;
+		}
+
+		private int indexOf(int hash, long seed) {
+			long h = (hash + seed) * seed;
+			h += h >>> 32;
+			return (int) h & mask;
+		}
+
+		private static int spread(int hash) {
+			hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+			return (hash >>> 16) ^ hash;
+		}
+
+	}
+
+}
@@ -12,11 +12,22 @@ public abstract class ClientBase<TI, TO, UPayload, UBody> implements Client<UPay
 
 	public ClientResponse<UBody> send(ClientRequest<UPayload> request) {
 		Objects.requireNonNull(request, "ClientRequest can not be null.");
-		TI input = convertPayload(request.actor(), request.payload());
-		validate(input);
-		TO output = process(input);
-		UBody body = convertToBody(output);
-		return new ClientResponse<>(body);
+		StageTimer timer = Instrumentation.start(getClass(), request.actor());
+		try {
+			TI input = convertPayload(request.actor(), request.payload());
+			timer.complete();
+			validate(input);
+			timer.complete();
+			TO output = process(input);
+			timer.complete();
+			ClientResponse<UBody> response = new ClientResponse<>(convertToBody(output));
+			timer.complete();
+			return response;
+		}
+		catch (RuntimeException | Error ex) {
+			timer.fail();
+			throw ex;
+		}
 	}
 
 	protected abstract TI convertPayload(Actor actor, UPayload payload);
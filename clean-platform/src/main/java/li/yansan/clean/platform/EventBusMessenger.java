@@ -0,0 +1,411 @@
+package li.yansan.clean.platform;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import li.yansan.clean.application.messaging.Messenger;
+import li.yansan.clean.application.messaging.MessengerRequest;
+import li.yansan.clean.application.messaging.MessengerResponse;
+import li.yansan.clean.commons.validation.Validator;
+
+/**
+ * In-process {@link Messenger} that hands payloads to subscribers in the same JVM, such
+ * as domain events consumed by other use cases, and stands in for a broker in tests.
+ *
+ * <p>
+ * Payloads are published into a preallocated ring buffer. Senders claim slots with a
+ * compare-and-set on a shared counter and mark them available in a per-slot array, so any
+ * number of threads can send without locks. Each subscriber runs on its own consumer
+ * thread and keeps its own sequence: it receives every payload, in order, and a sender
+ * only waits when the slowest subscriber is a full buffer behind. A slot is cleared once
+ * every subscriber has passed it, so the bus does not keep delivered payloads reachable.
+ * The response body is the sequence number of the published payload.
+ *
+ * <pre>{@code
+ * EventBusMessenger<OrderPlaced> bus = new EventBusMessenger<>(1024, WaitStrategy.YIELD);
+ * bus.subscribe(event -> shipping.execute(event));
+ * bus.subscribe(event -> invoicing.execute(event));
+ * bus.send(new MessengerRequest<>(actor, new OrderPlaced(orderId)));
+ * }</pre>
+ *
+ * <p>
+ * Subscribers are registered before the first send, which starts their threads. A
+ * subscriber that throws, even an {@link Error}, does not stop the others or lose its
+ * place; the exception is reported to the uncaught exception handler of its thread.
+ * {@link #close()} rejects later sends and returns once every subscriber has received
+ * every accepted payload.
+ *
+ * @param <UPayload> the type of the published payload
+ */
+public final class EventBusMessenger<UPayload> implements Messenger<UPayload, Long>, AutoCloseable {
+
+	private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+	private static final long CLOSED = Long.MIN_VALUE;
+
+	private final Object[] entries;
+
+	private final int[] available;
+
+	private final int mask;
+
+	private final int shift;
+
+	private final WaitStrategy waitStrategy;
+
+	private final ThreadFactory threadFactory;
+
+	/**
+	 * The next sequence to claim, with {@link #CLOSED} set once closed.
+	 */
+	private final AtomicLong claim = new AtomicLong();
+
+	private final List<Subscriber<UPayload>> subscribers = new ArrayList<>();
+
+	private final List<Thread> threads = new ArrayList<>();
+
+	private Sequence[] gating = new Sequence[0];
+
+	/**
+	 * The last sequence whose slot has been cleared and can be claimed again.
+	 */
+	private final AtomicLong released = new AtomicLong(-1);
+
+	private final ReentrantLock releaseLock = new ReentrantLock();
+
+	private volatile long end = Long.MAX_VALUE;
+
+	private volatile boolean started;
+
+	private boolean stopped;
+
+	/**
+	 * Creates a bus whose subscribers run on daemon platform threads.
+	 * @param bufferSize the number of slots; must be a power of two
+	 * @param waitStrategy how waiting subscribers and senders idle
+	 */
+	public EventBusMessenger(int bufferSize, WaitStrategy waitStrategy) {
+		this(bufferSize, waitStrategy,
+				Thread.ofPlatform()
+					.daemon()
+					.name("EventBusMessenger-", 0)
+					.inheritInheritableThreadLocals(false)
+					.factory());
+	}
+
+	/**
+	 * @param bufferSize the number of slots; must be a power of two
+	 * @param waitStrategy how waiting subscribers and senders idle
+	 * @param threadFactory creates one consumer thread per subscriber; spinning
+	 * strategies should use platform threads
+	 */
+	public EventBusMessenger(int bufferSize, WaitStrategy waitStrategy, ThreadFactory threadFactory) {
+		if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+			throw new IllegalArgumentException("Buffer size must be a power of two.");
+		}
+		this.waitStrategy = Objects.requireNonNull(waitStrategy, "WaitStrategy can not be null.");
+		this.threadFactory = Objects.requireNonNull(threadFactory, "ThreadFactory can not be null.");
+		this.entries = new Object[bufferSize];
+		this.available = new int[bufferSize];
+		for (int i = 0; i < bufferSize; i++) {
+			available[i] = -1;
+		}
+		this.mask = bufferSize - 1;
+		this.shift = Integer.numberOfTrailingZeros(bufferSize);
+	}
+
+	/**
+	 * Registers a subscriber that will receive every payload sent from now on.
+	 * @param subscriber the payload handler, called from the subscriber's own thread
+	 * @throws IllegalStateException if the bus has already been started
+	 */
+	public synchronized void subscribe(Consumer<? super UPayload> subscriber) {
+		Objects.requireNonNull(subscriber, "Subscriber can not be null.");
+		if (started || stopped) {
+			throw new IllegalStateException("Messenger is already started.");
+		}
+		subscribers.add(new Subscriber<>(subscriber, new Sequence()));
+	}
+
+	@Override
+	public MessengerResponse<Long> send(MessengerRequest<UPayload> request) {
+		Objects.requireNonNull(request, "MessengerRequest can not be null.");
+		UPayload payload = request.payload();
+		Validator.validate(payload);
+		if (!started) {
+			start();
+		}
+		long sequence = next();
+		if (gating.length > 0) {
+			awaitCapacity(sequence);
+			int index = (int) sequence & mask;
+			entries[index] = payload;
+			AVAILABLE.setRelease(available, index, (int) (sequence >>> shift));
+		}
+		return new MessengerResponse<>(sequence);
+	}
+
+	/**
+	 * Waits until every subscriber has handled every payload sent so far.
+	 * @param timeout the maximum time to wait
+	 * @return {@code true} if the subscribers caught up within the timeout
+	 */
+	public boolean awaitConsumed(Duration timeout) throws InterruptedException {
+		long target = (claim.get() & ~CLOSED) - 1;
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (minimumSequence() < target) {
+			if (System.nanoTime() >= deadline) {
+				return false;
+			}
+			Thread.sleep(1);
+		}
+		return true;
+	}
+
+	/**
+	 * Rejects later sends and waits until the subscribers have handled every payload
+	 * already accepted.
+	 */
+	@Override
+	public void close() {
+		long current;
+		do {
+			current = claim.get();
+			if (current < 0) {
+				return;
+			}
+		}
+		while (!claim.compareAndSet(current, current | CLOSED));
+		end = current;
+		List<Thread> running;
+		synchronized (this) {
+			stopped = true;
+			running = List.copyOf(threads);
+		}
+		for (Thread thread : running) {
+			try {
+				thread.join();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private synchronized void start() {
+		if (started || stopped) {
+			return;
+		}
+		Sequence[] sequences = new Sequence[subscribers.size()];
+		for (int i = 0; i < sequences.length; i++) {
+			Subscriber<UPayload> subscriber = subscribers.get(i);
+			sequences[i] = subscriber.sequence();
+			threads.add(threadFactory.newThread(() -> consume(subscriber)));
+		}
+		gating = sequences;
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		started = true;
+	}
+
+	private long next() {
+		long sequence;
+		do {
+			sequence = claim.get();
+			if (sequence < 0) {
+				throw new IllegalStateException("Messenger is closed.");
+			}
+		}
+		while (!claim.compareAndSet(sequence, sequence + 1));
+		return sequence;
+	}
+
+	/**
+	 * Waits until the slot of {@code sequence} has been released from its previous lap.
+	 */
+	private void awaitCapacity(long sequence) {
+		long wrap = sequence - entries.length;
+		for (int attempt = 0; wrap > released.get(); attempt++) {
+			release();
+			waitStrategy.idle(attempt);
+		}
+	}
+
+	/**
+	 * Clears the slots that every subscriber has passed, then hands them back to senders.
+	 * A caller that finds the lock held leaves the work to its holder, which checks again
+	 * after unlocking.
+	 */
+	private void release() {
+		while (minimumSequence() > released.get() && releaseLock.tryLock()) {
+			try {
+				long from = released.get();
+				long to = minimumSequence();
+				for (long current = from + 1; current <= to; current++) {
+					entries[(int) current & mask] = null;
+				}
+				if (to > from) {
+					released.set(to);
+				}
+			}
+			finally {
+				releaseLock.unlock();
+			}
+		}
+	}
+
+	private long minimumSequence() {
+		long minimum = Long.MAX_VALUE;
+		for (Sequence sequence : gating) {
+			minimum = Math.min(minimum, sequence.get());
+		}
+		return minimum;
+	}
+
+	private boolean isAvailable(long sequence) {
+		return (int) AVAILABLE.getAcquire(available, (int) sequence & mask) == (int) (sequence >>> shift);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void consume(Subscriber<UPayload> subscriber) {
+		Sequence sequence = subscriber.sequence();
+		long next = sequence.get() + 1;
+		int attempt = 0;
+		while (true) {
+			if (isAvailable(next)) {
+				long last = next;
+				while (last - next < mask && isAvailable(last + 1)) {
+					last++;
+				}
+				for (long current = next; current <= last; current++) {
+					deliver(subscriber, (UPayload) entries[(int) current & mask]);
+				}
+				sequence.set(last);
+				release();
+				next = last + 1;
+				attempt = 0;
+			}
+			else if (next >= end) {
+				return;
+			}
+			else {
+				waitStrategy.idle(attempt++);
+			}
+		}
+	}
+
+	private void deliver(Subscriber<UPayload> subscriber, UPayload payload) {
+		try {
+			subscriber.handler().accept(payload);
+		}
+		catch (Throwable ex) {
+			// Reported rather than rethrown: a dead consumer thread would stall every
+			// sender.
+			Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+		}
+	}
+
+	/**
+	 * How subscribers wait for payloads, and senders for free slots.
+	 */
+	public enum WaitStrategy {
+
+		/**
+		 * Spins on the CPU; lowest latency, one busy core per waiting thread.
+		 */
+		BUSY_SPIN {
+			@Override
+			void idle(int attempt) {
+				Thread.onSpinWait();
+			}
+		},
+
+		/**
+		 * Spins briefly, then yields the CPU to other threads between checks.
+		 */
+		YIELD {
+			@Override
+			void idle(int attempt) {
+				if (attempt < SPIN_ATTEMPTS) {
+					Thread.onSpinWait();
+				}
+				else {
+					Thread.yield();
+				}
+			}
+		},
+
+		/**
+		 * Spins briefly, then parks for 50 microseconds between checks; adds latency but
+		 * leaves idle cores free.
+		 */
+		PARK {
+			@Override
+			void idle(int attempt) {
+				if (attempt < SPIN_ATTEMPTS) {
+					Thread.onSpinWait();
+				}
+				else {
+					LockSupport.parkNanos(PARK_NANOS);
+				}
+			}
+		};
+
+		private static final int SPIN_ATTEMPTS = 100;
+
+		private static final long PARK_NANOS = 50_000;
+
+		abstract void idle(int attempt);
+
+	}
+
+	private record Subscriber<UPayload>(Consumer<? super UPayload> handler, Sequence sequence) {
+	}
+
+	/**
+	 * The last sequence handled by a subscriber, padded against false sharing with the
+	 * sequences of other subscribers.
+	 */
+	@SuppressWarnings("unused")
+	private static final class Sequence {
+
+		private static final VarHandle VALUE;
+
+		static {
+			try {
+				VALUE = MethodHandles.lookup().findVarHandle(Sequence.class, "value", long.class);
+			}
+			catch (ReflectiveOperationException ex) {
+				throw new ExceptionInInitializerError(ex);
+			}
+		}
+
+		private long p1, p2, p3, p4, p5, p6, p7;
+
+		private volatile long value = -1;
+
+		private long p9, p10, p11, p12, p13, p14, p15;
+
+		long get() {
+			return value;
+		}
+
+		void set(long sequence) {
+			VALUE.setRelease(this, sequence);
+		}
+
+	}
+
+}
@@ -0,0 +1,83 @@
+package li.yansan.clean.platform;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import li.yansan.clean.application.client.Client;
+import li.yansan.clean.application.client.ClientRequest;
+import li.yansan.clean.application.client.ClientResponse;
+
+/**
+ * In-process {@link Client} that stands in for an external system in tests.
+ *
+ * <p>
+ * Responses are computed by a function of the payload. Latency and failures can be
+ * changed at any time, which makes it possible to exercise timeouts, circuit breaking and
+ * hedging of a {@link ResilientClient} without a network:
+ *
+ * <pre>{@code
+ * FakeClient<Address, Location> geocoder = new FakeClient<>(address -> new Location(0, 0));
+ * geocoder.setLatency(Duration.ofSeconds(2));
+ * geocoder.setFailure(new IllegalStateException("503 Service Unavailable"));
+ * }</pre>
+ *
+ * @param <UPayload> the type of the request payload
+ * @param <UBody> the type of the response body
+ */
+public final class FakeClient<UPayload, UBody> implements Client<UPayload, UBody> {
+
+	private final AtomicLong calls = new AtomicLong();
+
+	private final Function<UPayload, UBody> responder;
+
+	private volatile Duration latency = Duration.ZERO;
+
+	private volatile RuntimeException failure;
+
+	public FakeClient(Function<UPayload, UBody> responder) {
+		this.responder = Objects.requireNonNull(responder, "Responder can not be null.");
+	}
+
+	@Override
+	public ClientResponse<UBody> send(ClientRequest<UPayload> request) {
+		Objects.requireNonNull(request, "ClientRequest can not be null.");
+		calls.incrementAndGet();
+		long deadline = System.nanoTime() + latency.toNanos();
+		for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+			LockSupport.parkNanos(remaining);
+			if (Thread.currentThread().isInterrupted()) {
+				// The interrupt status stays set for the caller.
+				throw new CancellationException("Call interrupted.");
+			}
+		}
+		RuntimeException current = failure;
+		if (current != null) {
+			throw current;
+		}
+		return new ClientResponse<>(responder.apply(request.payload()));
+	}
+
+	public void setLatency(Duration latency) {
+		this.latency = Objects.requireNonNull(latency, "Latency can not be null.");
+	}
+
+	/**
+	 * Makes every following call fail with the given exception.
+	 * @param failure the exception to throw, or null to succeed again
+	 */
+	public void setFailure(RuntimeException failure) {
+		this.failure = failure;
+	}
+
+	/**
+	 * @return the number of calls received so far
+	 */
+	public long calls() {
+		return calls.get();
+	}
+
+}
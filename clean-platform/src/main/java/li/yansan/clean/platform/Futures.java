@@ -0,0 +1,33 @@
+package li.yansan.clean.platform;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Helpers shared by the asynchronous adapters.
+ */
+final class Futures {
+
+	private Futures() {
+	}
+
+	/**
+	 * Waits for the stage and rethrows its failure unwrapped, so blocking callers see the
+	 * same exceptions as with the synchronous adapters.
+	 */
+	static <T> T join(CompletionStage<T> stage) {
+		try {
+			return stage.toCompletableFuture().join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (ex.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package li.yansan.clean.platform;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@link AdapterMetrics} keeping a {@link LatencyHistogram} and an error count
+ * per adapter class and stage.
+ *
+ * <p>
+ * Recording is lock-free once the adapter has been seen; read the results with
+ * {@link #statistics(Class, AdapterStage)}.
+ */
+public final class InMemoryAdapterMetrics implements AdapterMetrics {
+
+	private final ConcurrentMap<Class<?>, StageMetrics[]> adapters = new ConcurrentHashMap<>();
+
+	@Override
+	public void record(Class<?> adapter, AdapterStage stage, long nanos, boolean success) {
+		StageMetrics metrics = stagesOf(adapter)[stage.ordinal()];
+		metrics.latencies().record(nanos);
+		if (!success) {
+			metrics.errors().increment();
+		}
+	}
+
+	/**
+	 * Returns what was recorded for one stage of one adapter.
+	 * @param adapter the concrete adapter class
+	 * @param stage the stage
+	 * @return the statistics, all zero if nothing was recorded
+	 */
+	public StageStatistics statistics(Class<?> adapter, AdapterStage stage) {
+		StageMetrics[] stages = adapters.get(adapter);
+		if (stages == null) {
+			return new StageStatistics(0, 0, 0, 0, 0, 0);
+		}
+		StageMetrics metrics = stages[stage.ordinal()];
+		LatencyHistogram latencies = metrics.latencies();
+		return new StageStatistics(latencies.count(), metrics.errors().sum(), latencies.mean(),
+				latencies.percentile(50), latencies.percentile(99), latencies.max());
+	}
+
+	public void reset() {
+		adapters.clear();
+	}
+
+	private StageMetrics[] stagesOf(Class<?> adapter) {
+		StageMetrics[] stages = adapters.get(adapter);
+		if (stages == null) {
+			stages = adapters.computeIfAbsent(adapter, key -> {
+				StageMetrics[] created = new StageMetrics[AdapterStage.values().length];
+				for (int i = 0; i < created.length; i++) {
+					created[i] = new StageMetrics(new LatencyHistogram(), new LongAdder());
+				}
+				return created;
+			});
+		}
+		return stages;
+	}
+
+	/**
+	 * Recorded statistics of one adapter stage; durations are in nanoseconds.
+	 *
+	 * @param count the number of executions
+	 * @param errors the number of executions that threw
+	 * @param mean the mean duration
+	 * @param percentile50 the median duration
+	 * @param percentile99 the 99th percentile duration
+	 * @param max the maximum duration
+	 */
+	public record StageStatistics(long count, long errors, double mean, long percentile50, long percentile99,
+			long max) {
+
+		public double errorRate() {
+			return count == 0 ? 0 : (double) errors / count;
+		}
+
+	}
+
+	private record StageMetrics(LatencyHistogram latencies, LongAdder errors) {
+	}
+
+}
@@ -0,0 +1,461 @@
+package li.yansan.clean.platform;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Concurrent in-memory store of bodies by primary key, with secondary indexes on body
+ * properties.
+ *
+ * <p>
+ * It backs {@link RepositoryBase} subclasses that serve read-heavy reference data from
+ * memory instead of a database, and in-memory repositories used in tests:
+ *
+ * <pre>{@code
+ * public class InMemoryCountryRepository
+ *     extends RepositoryBase<String, Country, CountryCode, Country> {
+ *
+ *   private final InMemoryStore<String, Country> store = new InMemoryStore<>(Country::code);
+ *
+ *   public InMemoryCountryRepository() {
+ *     store.hashIndex("currency", Country::currency);
+ *     store.sortedIndex("population", Country::population);
+ *   }
+ *
+ *   &#64;Override
+ *   protected Country process(String code) {
+ *     return store.get(code);
+ *   }
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>
+ * <b>Concurrency:</b>
+ *
+ * <ul>
+ * <li><b>Reads:</b> {@link #get(Object)}, {@link #findBy(String, Object)} and
+ * {@link #findBetween(String, Comparable, Comparable)} take no lock. Index lookups check
+ * each body against the indexed value again, so a body changed concurrently is never
+ * returned for a value it no longer has.
+ * <li><b>Writes:</b> {@link #put(Object)} and {@link #remove(Object)} lock one of
+ * {@code stripes} read-write locks, chosen by key, while they update the primary map and
+ * every index. Writes to keys of different stripes run in parallel.
+ * <li><b>Snapshots:</b> {@link #snapshot()} holds the read lock of every stripe while it
+ * copies the store, so it sees every write either entirely or not at all.
+ * </ul>
+ *
+ * <p>
+ * Bodies should be immutable. Null property values are not indexed.
+ *
+ * @param <K> the type of the primary key
+ * @param <V> the type of the stored body
+ */
+public final class InMemoryStore<K, V> {
+
+	private static final int DEFAULT_STRIPES = 64;
+
+	private final ConcurrentHashMap<K, V> entries = new ConcurrentHashMap<>();
+
+	private final Function<? super V, ? extends K> keyExtractor;
+
+	private final ReentrantReadWriteLock[] locks;
+
+	private volatile Map<String, Index<K, V>> indexes = Map.of();
+
+	public InMemoryStore(Function<? super V, ? extends K> keyExtractor) {
+		this(keyExtractor, DEFAULT_STRIPES);
+	}
+
+	/**
+	 * @param keyExtractor extracts the primary key of a body
+	 * @param stripes the number of write locks; rounded up to a power of two, must be
+	 * positive
+	 */
+	public InMemoryStore(Function<? super V, ? extends K> keyExtractor, int stripes) {
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor can not be null.");
+		if (stripes <= 0) {
+			throw new IllegalArgumentException("Stripes must be positive.");
+		}
+		this.locks = new ReentrantReadWriteLock[(stripes == 1) ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new ReentrantReadWriteLock();
+		}
+	}
+
+	/**
+	 * Declares an index answering {@link #findBy(String, Object)} by equality of a
+	 * property. Bodies already stored are indexed before this method returns.
+	 * @param name the index name
+	 * @param property extracts the indexed property of a body
+	 */
+	public void hashIndex(String name, Function<? super V, ?> property) {
+		declare(name, new HashIndex<>(property));
+	}
+
+	/**
+	 * Declares an index answering {@link #findBy(String, Object)} and
+	 * {@link #findBetween(String, Comparable, Comparable)} by the natural order of a
+	 * property. Bodies already stored are indexed before this method returns.
+	 * @param name the index name
+	 * @param property extracts the indexed property of a body
+	 */
+	public void sortedIndex(String name, Function<? super V, ? extends Comparable<?>> property) {
+		declare(name, new SortedIndex<>(property));
+	}
+
+	/**
+	 * @return the body stored under {@code key}, or null
+	 */
+	public V get(K key) {
+		return entries.get(key);
+	}
+
+	/**
+	 * Stores a body under its key, replacing the previous one.
+	 * @return the replaced body, or null
+	 */
+	public V put(V value) {
+		Objects.requireNonNull(value, "Value can not be null.");
+		K key = Objects.requireNonNull(keyExtractor.apply(value), "Key can not be null.");
+		ReentrantReadWriteLock.WriteLock lock = lockFor(key).writeLock();
+		lock.lock();
+		try {
+			V previous = entries.put(key, value);
+			for (Index<K, V> index : indexes.values()) {
+				if (previous != null) {
+					index.remove(key, previous);
+				}
+				index.add(key, value);
+			}
+			return previous;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public void putAll(Collection<? extends V> values) {
+		Objects.requireNonNull(values, "Values can not be null.");
+		for (V value : values) {
+			put(value);
+		}
+	}
+
+	/**
+	 * @return the removed body, or null
+	 */
+	public V remove(K key) {
+		Objects.requireNonNull(key, "Key can not be null.");
+		ReentrantReadWriteLock.WriteLock lock = lockFor(key).writeLock();
+		lock.lock();
+		try {
+			V previous = entries.remove(key);
+			if (previous != null) {
+				for (Index<K, V> index : indexes.values()) {
+					index.remove(key, previous);
+				}
+			}
+			return previous;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @param name the name of a hash or sorted index
+	 * @param value the property value to look up
+	 * @return the bodies whose indexed property equals {@code value}
+	 * @throws IllegalArgumentException if no index has that name
+	 */
+	public List<V> findBy(String name, Object value) {
+		Objects.requireNonNull(value, "Value can not be null.");
+		Index<K, V> index = index(name);
+		List<V> found = new ArrayList<>();
+		collect(index, value, index.keys(value), found);
+		return found;
+	}
+
+	/**
+	 * @param name the name of a sorted index
+	 * @param from the lowest property value, inclusive; null for no lower bound
+	 * @param to the highest property value, inclusive; null for no upper bound
+	 * @return the bodies whose indexed property is in range, in property order
+	 * @throws IllegalArgumentException if no sorted index has that name
+	 */
+	public List<V> findBetween(String name, Comparable<?> from, Comparable<?> to) {
+		if (!(index(name) instanceof SortedIndex<K, V> index)) {
+			throw new IllegalArgumentException("Index " + name + " is not sorted.");
+		}
+		List<V> found = new ArrayList<>();
+		for (Map.Entry<Object, Set<K>> entry : index.range(from, to).entrySet()) {
+			collect(index, entry.getKey(), entry.getValue(), found);
+		}
+		return found;
+	}
+
+	/**
+	 * Copies the store at a point where no write is in progress.
+	 * @return an immutable copy of every body by key
+	 */
+	public Map<K, V> snapshot() {
+		lockAll();
+		try {
+			return Map.copyOf(entries);
+		}
+		finally {
+			unlockAll();
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public void clear() {
+		for (ReentrantReadWriteLock lock : locks) {
+			lock.writeLock().lock();
+		}
+		try {
+			entries.clear();
+			for (Index<K, V> index : indexes.values()) {
+				index.clear();
+			}
+		}
+		finally {
+			for (ReentrantReadWriteLock lock : locks) {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+
+	private void collect(Index<K, V> index, Object value, Set<K> keys, List<V> found) {
+		if (keys == null) {
+			return;
+		}
+		for (K key : keys) {
+			V body = entries.get(key);
+			// The body may have changed since the index was read.
+			if (body != null && index.matches(index.property().apply(body), value)) {
+				found.add(body);
+			}
+		}
+	}
+
+	private synchronized void declare(String name, Index<K, V> index) {
+		Objects.requireNonNull(name, "Index name can not be null.");
+		if (indexes.containsKey(name)) {
+			throw new IllegalArgumentException("Index " + name + " already exists.");
+		}
+		for (ReentrantReadWriteLock lock : locks) {
+			lock.writeLock().lock();
+		}
+		try {
+			entries.forEach(index::add);
+			Map<String, Index<K, V>> declared = new HashMap<>(indexes);
+			declared.put(name, index);
+			indexes = Map.copyOf(declared);
+		}
+		finally {
+			for (ReentrantReadWriteLock lock : locks) {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+
+	private Index<K, V> index(String name) {
+		Index<K, V> index = indexes.get(name);
+		if (index == null) {
+			throw new IllegalArgumentException("Unknown index: " + name);
+		}
+		return index;
+	}
+
+	private ReentrantReadWriteLock lockFor(K key) {
+		int hash = key.hashCode();
+		return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+	}
+
+	private void lockAll() {
+		for (ReentrantReadWriteLock lock : locks) {
+			lock.readLock().lock();
+		}
+	}
+
+	private void unlockAll() {
+		for (ReentrantReadWriteLock lock : locks) {
+			lock.readLock().unlock();
+		}
+	}
+
+	private abstract static sealed class Index<K, V> permits HashIndex, SortedIndex {
+
+		private final Function<? super V, ?> property;
+
+		Index(Function<? super V, ?> property) {
+			this.property = Objects.requireNonNull(property, "Property can not be null.");
+		}
+
+		Function<? super V, ?> property() {
+			return property;
+		}
+
+		abstract void add(K key, V value);
+
+		abstract void remove(K key, V value);
+
+		abstract Set<K> keys(Object value);
+
+		/**
+		 * @return whether a property value belongs to the same index entry as
+		 * {@code value}, by the index's own notion of equality
+		 */
+		abstract boolean matches(Object indexed, Object value);
+
+		abstract void clear();
+
+	}
+
+	private static final class HashIndex<K, V> extends Index<K, V> {
+
+		private final ConcurrentHashMap<Object, Set<K>> keys = new ConcurrentHashMap<>();
+
+		HashIndex(Function<? super V, ?> property) {
+			super(property);
+		}
+
+		@Override
+		void add(K key, V value) {
+			Object indexed = property().apply(value);
+			if (indexed != null) {
+				// Atomic with remove, which drops the set once it is empty.
+				keys.compute(indexed, (ignored, set) -> add(set, key));
+			}
+		}
+
+		@Override
+		void remove(K key, V value) {
+			Object indexed = property().apply(value);
+			if (indexed != null) {
+				keys.computeIfPresent(indexed, (ignored, set) -> {
+					set.remove(key);
+					return set.isEmpty() ? null : set;
+				});
+			}
+		}
+
+		@Override
+		Set<K> keys(Object value) {
+			return keys.get(value);
+		}
+
+		@Override
+		boolean matches(Object indexed, Object value) {
+			return Objects.equals(indexed, value);
+		}
+
+		@Override
+		void clear() {
+			keys.clear();
+		}
+
+		private static <K> Set<K> add(Set<K> set, K key) {
+			Set<K> keys = set == null ? ConcurrentHashMap.newKeySet() : set;
+			keys.add(key);
+			return keys;
+		}
+
+	}
+
+	private static final class SortedIndex<K, V> extends Index<K, V> {
+
+		private final ConcurrentSkipListMap<Object, Set<K>> keys = new ConcurrentSkipListMap<>();
+
+		/**
+		 * Serializes writers; {@link ConcurrentSkipListMap#compute} is not atomic.
+		 */
+		private final ReentrantLock lock = new ReentrantLock();
+
+		SortedIndex(Function<? super V, ? extends Comparable<?>> property) {
+			super(property);
+		}
+
+		@Override
+		void add(K key, V value) {
+			Object indexed = property().apply(value);
+			if (indexed != null) {
+				lock.lock();
+				try {
+					keys.computeIfAbsent(indexed, (ignored) -> ConcurrentHashMap.newKeySet()).add(key);
+				}
+				finally {
+					lock.unlock();
+				}
+			}
+		}
+
+		@Override
+		void remove(K key, V value) {
+			Object indexed = property().apply(value);
+			if (indexed != null) {
+				lock.lock();
+				try {
+					Set<K> set = keys.get(indexed);
+					if (set != null && set.remove(key) && set.isEmpty()) {
+						keys.remove(indexed);
+					}
+				}
+				finally {
+					lock.unlock();
+				}
+			}
+		}
+
+		@Override
+		Set<K> keys(Object value) {
+			return keys.get(value);
+		}
+
+		/**
+		 * Compares like the index does, so that values equal by {@code compareTo} but not
+		 * by {@code equals}, such as {@code 1.0} and {@code 1.00}, match.
+		 */
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		boolean matches(Object indexed, Object value) {
+			return indexed != null && ((Comparable) indexed).compareTo(value) == 0;
+		}
+
+		NavigableMap<Object, Set<K>> range(Object from, Object to) {
+			if (from == null && to == null) {
+				return keys;
+			}
+			if (from == null) {
+				return keys.headMap(to, true);
+			}
+			if (to == null) {
+				return keys.tailMap(from, true);
+			}
+			return keys.subMap(from, true, to, true);
+		}
+
+		@Override
+		void clear() {
+			keys.clear();
+		}
+
+	}
+
+}
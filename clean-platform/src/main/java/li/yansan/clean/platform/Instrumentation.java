@@ -0,0 +1,56 @@
+package li.yansan.clean.platform;
+
+import jdk.jfr.EventType;
+
+import li.yansan.clean.application.Actor;
+
+/**
+ * Global switch for the instrumentation of the adapter {@code send} template methods.
+ *
+ * <p>
+ * Instrumentation is disabled by default. While disabled, and while no Flight Recorder
+ * recording enables the {@code li.yansan.clean.AdapterCall} event, each {@code send} call
+ * only pays for a volatile read and an event-enabled check; no clock is read and nothing
+ * is allocated.
+ *
+ * <pre>{@code
+ * InMemoryAdapterMetrics metrics = new InMemoryAdapterMetrics();
+ * Instrumentation.install(metrics);
+ * ...
+ * metrics.statistics(JpaCustomerRepository.class, AdapterStage.PROCESS).percentile99();
+ * }</pre>
+ */
+public final class Instrumentation {
+
+	private static final EventType ADAPTER_CALL = EventType.getEventType(AdapterCallEvent.class);
+
+	private static volatile AdapterMetrics metrics;
+
+	private Instrumentation() {
+	}
+
+	/**
+	 * Starts recording every adapter call into the given sink.
+	 * @param metrics the sink; must not be null
+	 */
+	public static void install(AdapterMetrics metrics) {
+		if (metrics == null) {
+			throw new IllegalArgumentException("AdapterMetrics can not be null.");
+		}
+		Instrumentation.metrics = metrics;
+	}
+
+	public static void disable() {
+		metrics = null;
+	}
+
+	static StageTimer start(Class<?> adapter, Actor actor) {
+		AdapterMetrics current = metrics;
+		boolean recording = ADAPTER_CALL.isEnabled();
+		if (current == null && !recording) {
+			return StageTimer.DISABLED;
+		}
+		return new StageTimer(adapter, actor, current, recording ? new AdapterCallEvent() : null);
+	}
+
+}
@@ -0,0 +1,112 @@
+package li.yansan.clean.platform;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets.
+ *
+ * <p>
+ * Values are grouped by power of two and every power of two is split into 16 linear
+ * sub-buckets, so any recorded value is reported with a relative error below 1/16 (about
+ * 6%) over the whole {@code long} range, in the manner of HdrHistogram.
+ * {@link #record(long)} is a few atomic increments and never allocates; percentiles are
+ * computed by scanning the fixed set of buckets.
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	private final LongAdder total = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a value, typically a duration in nanoseconds. Negative values are recorded
+	 * as zero.
+	 * @param value the value to record
+	 */
+	public void record(long value) {
+		long v = Math.max(0, value);
+		counts.incrementAndGet(indexOf(v));
+		total.increment();
+		sum.add(v);
+		long current = max.get();
+		while (v > current && !max.compareAndSet(current, v)) {
+			current = max.get();
+		}
+	}
+
+	public long count() {
+		return total.sum();
+	}
+
+	public long max() {
+		return max.get();
+	}
+
+	public double mean() {
+		long count = total.sum();
+		return count == 0 ? 0 : (double) sum.sum() / count;
+	}
+
+	/**
+	 * Returns the value at the given percentile.
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the upper bound of the bucket holding the percentile, or 0 when empty
+	 */
+	public long percentile(double percentile) {
+		long count = total.sum();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(upperBoundOf(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		total.reset();
+		sum.reset();
+		max.set(0);
+	}
+
+	private static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	private static long upperBoundOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long subBucket = index % SUB_BUCKETS;
+		long lower = (1L << exponent) + (subBucket << (exponent - SUB_BUCKET_BITS));
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		return lower + width - 1 < 0 ? Long.MAX_VALUE : lower + width - 1;
+	}
+
+}
@@ -0,0 +1,235 @@
+package li.yansan.clean.platform;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Publisher mapping each item of a source publisher to exactly one item with a mapper
+ * that may block, such as an adapter or a use case calling a database.
+ *
+ * <p>
+ * Each subscription maps its items on its own virtual thread, never on the thread
+ * delivering them, and emits every downstream signal from that thread. It requests one
+ * item from the source per unit of downstream demand, and only once the previous item has
+ * been mapped, so at most one item is in flight. A mapping failure cancels the source and
+ * is signalled downstream with {@code onError}; cancelling the subscription interrupts a
+ * mapping in progress.
+ */
+final class MappingPublisher<T, R> implements Flow.Publisher<R> {
+
+	private final Flow.Publisher<T> source;
+
+	private final Function<? super T, ? extends R> mapper;
+
+	private final String name;
+
+	/**
+	 * @param name the name of the mapping threads
+	 */
+	MappingPublisher(Flow.Publisher<T> source, Function<? super T, ? extends R> mapper, String name) {
+		this.source = Objects.requireNonNull(source, "Publisher can not be null.");
+		this.mapper = Objects.requireNonNull(mapper, "Mapper can not be null.");
+		this.name = Objects.requireNonNull(name, "Name can not be null.");
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super R> subscriber) {
+		Objects.requireNonNull(subscriber, "Subscriber can not be null.");
+		source.subscribe(new MappingSubscriber<>(subscriber, mapper, name));
+	}
+
+	private static final class MappingSubscriber<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+
+		private static final Object COMPLETE = new Object();
+
+		private final Flow.Subscriber<? super R> downstream;
+
+		private final Function<? super T, ? extends R> mapper;
+
+		private final String name;
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final Condition signalled = lock.newCondition();
+
+		/**
+		 * Items, {@link Failure failures} and {@link #COMPLETE} received from the source.
+		 */
+		private final Queue<Object> signals = new ArrayDeque<>();
+
+		private long demand;
+
+		private boolean cancelled;
+
+		private Flow.Subscription upstream;
+
+		private Thread worker;
+
+		MappingSubscriber(Flow.Subscriber<? super R> downstream, Function<? super T, ? extends R> mapper, String name) {
+			this.downstream = downstream;
+			this.mapper = mapper;
+			this.name = name;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			upstream = subscription;
+			// Outlives the call that starts it, so it does not inherit its context.
+			worker = Thread.ofVirtual().name(name).inheritInheritableThreadLocals(false).unstarted(this::drain);
+			downstream.onSubscribe(this);
+			worker.start();
+		}
+
+		@Override
+		public void onNext(T item) {
+			signal(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			signal(new Failure(throwable));
+		}
+
+		@Override
+		public void onComplete() {
+			signal(COMPLETE);
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				upstream.cancel();
+				signal(new Failure(new IllegalArgumentException("Requested items must be positive.")));
+				return;
+			}
+			lock.lock();
+			try {
+				demand = (demand + n < 0) ? Long.MAX_VALUE : demand + n;
+				signalled.signal();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			lock.lock();
+			try {
+				if (cancelled) {
+					return;
+				}
+				cancelled = true;
+				signalled.signal();
+			}
+			finally {
+				lock.unlock();
+			}
+			upstream.cancel();
+			if (Thread.currentThread() != worker) {
+				worker.interrupt();
+			}
+		}
+
+		private void signal(Object signal) {
+			lock.lock();
+			try {
+				signals.add(signal);
+				signalled.signal();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Runs on the worker thread until the stream terminates or is cancelled.
+		 */
+		@SuppressWarnings("unchecked")
+		private void drain() {
+			boolean requested = false;
+			try {
+				while (true) {
+					Object signal;
+					lock.lock();
+					try {
+						while (!cancelled && signals.isEmpty() && (requested || demand == 0)) {
+							signalled.await();
+						}
+						if (cancelled) {
+							return;
+						}
+						signal = signals.poll();
+						if (signal == null) {
+							if (demand != Long.MAX_VALUE) {
+								demand--;
+							}
+							requested = true;
+						}
+					}
+					finally {
+						lock.unlock();
+					}
+					if (signal == null) {
+						upstream.request(1);
+					}
+					else if (signal == COMPLETE) {
+						downstream.onComplete();
+						return;
+					}
+					else if (signal instanceof Failure failure) {
+						downstream.onError(failure.throwable());
+						return;
+					}
+					else {
+						requested = false;
+						R mapped;
+						try {
+							mapped = Objects.requireNonNull(mapper.apply((T) signal), "Mapped item can not be null.");
+						}
+						catch (RuntimeException ex) {
+							if (isCancelled()) {
+								return;
+							}
+							upstream.cancel();
+							downstream.onError(ex);
+							return;
+						}
+						if (isCancelled()) {
+							return;
+						}
+						downstream.onNext(mapped);
+					}
+				}
+			}
+			catch (InterruptedException ex) {
+				// Cancelled while waiting for demand or items.
+			}
+			catch (RuntimeException | Error ex) {
+				// The downstream subscriber violated the specification by throwing.
+				upstream.cancel();
+				throw ex;
+			}
+		}
+
+		private boolean isCancelled() {
+			lock.lock();
+			try {
+				return cancelled;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private record Failure(Throwable throwable) {
+		}
+
+	}
+
+}
@@ -41,11 +41,22 @@ public abstract class MessengerBase<TI, TO, UPayload, UBody> implements Messenge
 
 	public MessengerResponse<UBody> send(MessengerRequest<UPayload> request) {
 		Objects.requireNonNull(request, "MessengerRequest can not be null.");
-		TI input = convertPayload(request.sender(), request.payload());
-		validate(input);
-		TO output = process(input);
-		UBody body = convertToBody(output);
-		return new MessengerResponse<>(body);
+		StageTimer timer = Instrumentation.start(getClass(), request.sender());
+		try {
+			TI input = convertPayload(request.sender(), request.payload());
+			timer.complete();
+			validate(input);
+			timer.complete();
+			TO output = process(input);
+			timer.complete();
+			MessengerResponse<UBody> response = new MessengerResponse<>(convertToBody(output));
+			timer.complete();
+			return response;
+		}
+		catch (RuntimeException | Error ex) {
+			timer.fail();
+			throw ex;
+		}
 	}
 
 	protected abstract TI convertPayload(Actor actor, UPayload payload);
@@ -0,0 +1,472 @@
+package li.yansan.clean.platform;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Store of bodies by {@code long} key that keeps them serialized outside the Java heap.
+ *
+ * <p>
+ * It plays the role of {@link InMemoryStore} for lookup tables with tens of millions of
+ * rows: the heap only holds two primitive arrays for the index and a few large buffers,
+ * so garbage collection pauses do not grow with the data set, and the serialized form is
+ * usually far smaller than the objects.
+ *
+ * <ul>
+ * <li><b>Storage:</b> each body is encoded by a {@link Codec} and appended, as
+ * {@code [int length][bytes]}, to direct buffers of {@code slabSize} bytes. Replaced and
+ * removed bodies leave garbage until {@link #compact()} copies the live ones into new
+ * slabs.
+ * <li><b>Index:</b> an open-addressing table maps each key to the slab and position of
+ * its body, with linear probing and no per-entry objects.
+ * <li><b>Reads:</b> {@link #get(long)} looks the key up without locking and decodes the
+ * body into a new object; it only falls back to a read lock if a write ran meanwhile.
+ * Writes are serialized by a single lock.
+ * </ul>
+ *
+ * <pre>{@code
+ * OffHeapStore<Product> products = new OffHeapStore<>(new ProductCodec(), Product::id);
+ * products.put(product);
+ * Product found = products.get(42L);
+ * }</pre>
+ *
+ * <p>
+ * Slabs are released when they are garbage collected, within the limit set by
+ * {@code -XX:MaxDirectMemorySize}.
+ *
+ * @param <V> the type of the stored body
+ */
+public final class OffHeapStore<V> {
+
+	private static final int DEFAULT_SLAB_SIZE = 16 * 1024 * 1024;
+
+	private static final int DEFAULT_EXPECTED_SIZE = 1024;
+
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private static final long EMPTY = -1;
+
+	private static final int LENGTH = 4;
+
+	private final Codec<V> codec;
+
+	private final ToLongFunction<? super V> keyExtractor;
+
+	private final int slabSize;
+
+	private final StampedLock lock = new StampedLock();
+
+	private Table table;
+
+	/**
+	 * Read-only views of the slabs, sliced by readers.
+	 */
+	private ByteBuffer[] slabs = new ByteBuffer[0];
+
+	/**
+	 * The slab bodies are appended to.
+	 */
+	private ByteBuffer current;
+
+	private int position;
+
+	private int size;
+
+	private long liveBytes;
+
+	public OffHeapStore(Codec<V> codec, ToLongFunction<? super V> keyExtractor) {
+		this(codec, keyExtractor, DEFAULT_SLAB_SIZE, DEFAULT_EXPECTED_SIZE);
+	}
+
+	/**
+	 * @param codec encodes and decodes bodies
+	 * @param keyExtractor extracts the key of a body
+	 * @param slabSize the size of each off-heap buffer in bytes; bounds the size of one
+	 * encoded body
+	 * @param expectedSize the number of bodies to size the index for; must not be
+	 * negative
+	 */
+	public OffHeapStore(Codec<V> codec, ToLongFunction<? super V> keyExtractor, int slabSize, int expectedSize) {
+		this.codec = Objects.requireNonNull(codec, "Codec can not be null.");
+		this.keyExtractor = Objects.requireNonNull(keyExtractor, "Key extractor can not be null.");
+		if (slabSize <= LENGTH) {
+			throw new IllegalArgumentException("Slab size must be larger than " + LENGTH + " bytes.");
+		}
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Expected size can not be negative.");
+		}
+		this.slabSize = slabSize;
+		this.position = slabSize;
+		this.table = new Table(capacityFor(expectedSize));
+	}
+
+	/**
+	 * @return the body stored under {@code key}, decoded into a new object, or null
+	 */
+	public V get(long key) {
+		long stamp = lock.tryOptimisticRead();
+		long offset = table.find(key);
+		ByteBuffer[] views = slabs;
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				offset = table.find(key);
+				views = slabs;
+			}
+			finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		// Stored bytes are never overwritten, so decoding needs no lock.
+		return offset == EMPTY ? null : decode(views, offset);
+	}
+
+	public boolean containsKey(long key) {
+		long stamp = lock.tryOptimisticRead();
+		long offset = table.find(key);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				offset = table.find(key);
+			}
+			finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return offset != EMPTY;
+	}
+
+	/**
+	 * Stores a body under its key, replacing the previous one.
+	 * @return {@code true} if a body was replaced
+	 */
+	public boolean put(V value) {
+		Objects.requireNonNull(value, "Value can not be null.");
+		long key = keyExtractor.applyAsLong(value);
+		byte[] data = Objects.requireNonNull(codec.encode(value), "Encoded value can not be null.");
+		return store(key, ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * Stores a body already encoded by the codec of this store, such as one read from a
+	 * {@link StoreSnapshot}.
+	 * @return {@code true} if a body was replaced
+	 */
+	boolean putEncoded(long key, ByteBuffer data) {
+		Objects.requireNonNull(data, "Encoded value can not be null.");
+		return store(key, data);
+	}
+
+	/**
+	 * @return {@code true} if a body was removed
+	 */
+	public boolean remove(long key) {
+		long stamp = lock.writeLock();
+		try {
+			long previous = table.remove(key);
+			if (previous == EMPTY) {
+				return false;
+			}
+			size--;
+			liveBytes -= recordSize(previous);
+			return true;
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Copies the live bodies into new slabs, releasing the space of replaced and removed
+	 * ones. Reads continue meanwhile; writes wait.
+	 */
+	public void compact() {
+		long stamp = lock.writeLock();
+		try {
+			ByteBuffer[] previous = slabs;
+			Table compacted = new Table(table.keys.length);
+			slabs = new ByteBuffer[0];
+			position = slabSize;
+			for (int i = 0; i < table.keys.length; i++) {
+				long offset = table.offsets[i];
+				if (offset != EMPTY) {
+					ByteBuffer slab = previous[slab(offset)];
+					int index = position(offset);
+					compacted.put(table.keys[i], append(slab.slice(index + LENGTH, slab.getInt(index))));
+				}
+			}
+			table = compacted;
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	public int size() {
+		long stamp = lock.readLock();
+		try {
+			return size;
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * @return the bytes held by live bodies, including their length prefixes
+	 */
+	public long liveBytes() {
+		long stamp = lock.readLock();
+		try {
+			return liveBytes;
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * @return the off-heap bytes allocated for slabs
+	 */
+	public long allocatedBytes() {
+		long stamp = lock.readLock();
+		try {
+			return (long) slabs.length * slabSize;
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Calls {@code action} with every key, in ascending order, and a read-only view of
+	 * its encoded body. Writes wait until it returns.
+	 */
+	void forEachEncoded(EncodedAction action) {
+		long stamp = lock.readLock();
+		try {
+			long[] keys = new long[size];
+			int count = 0;
+			for (int i = 0; i < table.keys.length; i++) {
+				if (table.offsets[i] != EMPTY) {
+					keys[count++] = table.keys[i];
+				}
+			}
+			Arrays.sort(keys);
+			for (long key : keys) {
+				long offset = table.find(key);
+				ByteBuffer slab = slabs[slab(offset)];
+				int index = position(offset);
+				action.accept(key, slab.slice(index + LENGTH, slab.getInt(index)));
+			}
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	private boolean store(long key, ByteBuffer data) {
+		int length = data.remaining();
+		if (length > slabSize - LENGTH) {
+			throw new IllegalArgumentException("Encoded value of " + length + " bytes does not fit a slab.");
+		}
+		long stamp = lock.writeLock();
+		try {
+			long offset = append(data);
+			long previous = table.put(key, offset);
+			if (previous != EMPTY) {
+				liveBytes -= recordSize(previous);
+			}
+			else if (++size > table.threshold()) {
+				table = table.resize();
+			}
+			liveBytes += LENGTH + length;
+			return previous != EMPTY;
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	private long append(ByteBuffer data) {
+		int length = data.remaining();
+		if (position + LENGTH + length > slabSize) {
+			current = ByteBuffer.allocateDirect(slabSize);
+			slabs = Arrays.copyOf(slabs, slabs.length + 1);
+			slabs[slabs.length - 1] = current.asReadOnlyBuffer();
+			position = 0;
+		}
+		current.putInt(position, length);
+		current.put(position + LENGTH, data, data.position(), length);
+		long offset = (long) (slabs.length - 1) << 32 | position;
+		position += LENGTH + length;
+		return offset;
+	}
+
+	private int recordSize(long offset) {
+		return LENGTH + slabs[slab(offset)].getInt(position(offset));
+	}
+
+	private V decode(ByteBuffer[] views, long offset) {
+		ByteBuffer slab = views[slab(offset)];
+		int index = position(offset);
+		return codec.decode(slab.slice(index + LENGTH, slab.getInt(index)));
+	}
+
+	private static int slab(long offset) {
+		return (int) (offset >>> 32);
+	}
+
+	private static int position(long offset) {
+		return (int) offset;
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int minimum = Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR));
+		return Integer.highestOneBit(minimum - 1) << 1;
+	}
+
+	/**
+	 * Converts bodies to and from their off-heap form.
+	 *
+	 * @param <V> the type of the body
+	 */
+	public interface Codec<V> {
+
+		byte[] encode(V value);
+
+		/**
+		 * @param buffer a read-only view of exactly the encoded bytes, positioned at
+		 * their start
+		 * @return the decoded body
+		 */
+		V decode(ByteBuffer buffer);
+
+	}
+
+	/**
+	 * Receives the encoded bodies of {@link #forEachEncoded(EncodedAction)}.
+	 */
+	interface EncodedAction {
+
+		void accept(long key, ByteBuffer encoded);
+
+	}
+
+	/**
+	 * Linear-probing hash table of {@code long} keys to offsets, with backward-shift
+	 * deletion instead of tombstones. Lookups are bounded by the capacity so that reads
+	 * racing with a write always terminate; their result is then discarded.
+	 */
+	private static final class Table {
+
+		private final long[] keys;
+
+		private final long[] offsets;
+
+		private final int mask;
+
+		Table(int capacity) {
+			this.keys = new long[capacity];
+			this.offsets = new long[capacity];
+			this.mask = capacity - 1;
+			Arrays.fill(offsets, EMPTY);
+		}
+
+		int threshold() {
+			return (int) (keys.length * LOAD_FACTOR);
+		}
+
+		long find(long key) {
+			int slot = slot(key);
+			for (int probe = 0; probe <= mask; probe++) {
+				long offset = offsets[slot];
+				if (offset == EMPTY) {
+					return EMPTY;
+				}
+				if (keys[slot] == key) {
+					return offset;
+				}
+				slot = (slot + 1) & mask;
+			}
+			return EMPTY;
+		}
+
+		/**
+		 * @return the replaced offset, or {@link #EMPTY}
+		 */
+		long put(long key, long offset) {
+			int slot = slot(key);
+			while (offsets[slot] != EMPTY) {
+				if (keys[slot] == key) {
+					long previous = offsets[slot];
+					offsets[slot] = offset;
+					return previous;
+				}
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			offsets[slot] = offset;
+			return EMPTY;
+		}
+
+		/**
+		 * @return the removed offset, or {@link #EMPTY}
+		 */
+		long remove(long key) {
+			int slot = slot(key);
+			while (offsets[slot] != EMPTY) {
+				if (keys[slot] == key) {
+					long previous = offsets[slot];
+					shiftBack(slot);
+					return previous;
+				}
+				slot = (slot + 1) & mask;
+			}
+			return EMPTY;
+		}
+
+		/**
+		 * Moves later entries of the probe run into the freed slot, so that lookups can
+		 * still stop at the first empty slot.
+		 */
+		private void shiftBack(int free) {
+			int slot = free;
+			while (true) {
+				slot = (slot + 1) & mask;
+				if (offsets[slot] == EMPTY) {
+					offsets[free] = EMPTY;
+					return;
+				}
+				int home = slot(keys[slot]);
+				// Move the entry unless its home lies cyclically in (free, slot].
+				boolean stays = free <= slot ? free < home && home <= slot : free < home || home <= slot;
+				if (!stays) {
+					keys[free] = keys[slot];
+					offsets[free] = offsets[slot];
+					free = slot;
+				}
+			}
+		}
+
+		Table resize() {
+			Table resized = new Table(keys.length * 2);
+			for (int i = 0; i < keys.length; i++) {
+				if (offsets[i] != EMPTY) {
+					resized.put(keys[i], offsets[i]);
+				}
+			}
+			return resized;
+		}
+
+		private int slot(long key) {
+			long hash = key * 0x9E3779B97F4A7C15L;
+			return (int) (hash ^ (hash >>> 32)) & mask;
+		}
+
+	}
+
+}
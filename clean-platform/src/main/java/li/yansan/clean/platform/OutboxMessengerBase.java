@@ -0,0 +1,688 @@
+package li.yansan.clean.platform;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.messaging.Messenger;
+import li.yansan.clean.application.messaging.MessengerRequest;
+import li.yansan.clean.application.messaging.MessengerResponse;
+import li.yansan.clean.commons.validation.Validator;
+
+/**
+ * Messenger adapter that acknowledges sends once they are durably stored in a local
+ * outbox, and relays them to the messaging system in the background.
+ *
+ * <p>
+ * Each {@link #send(MessengerRequest)} converts and validates its payload like
+ * {@link MessengerBase}, then appends the {@link #serialize(Object) serialized} input to
+ * an append-only log of memory-mapped segment files in {@code directory}. Concurrent
+ * senders share their flushes (group commit): one of them forces every record appended so
+ * far to disk while the others wait for it. The caller gets its response once its record
+ * is durable, so broker latency and outages no longer reach the use case.
+ *
+ * <p>
+ * A background relay reads durable records in order and hands them to
+ * {@link #processBatch(List)}, which calls the real {@link #process(Object)} by default.
+ * The position of the last relayed record is kept in an offset file. Delivery is at least
+ * once: records relayed but not yet recorded in the offset file are relayed again after a
+ * restart. Segments are deleted once every record in them is relayed.
+ *
+ * <p>
+ * When a batch fails, its records are retried one at a time, so that a record that can
+ * not be relayed is isolated. For a record that fails on its own, either in
+ * {@link #deserialize(byte[])} or in {@code processBatch},
+ * {@link #skipFailedRecord(byte[], long, Throwable, int)} decides whether it is skipped,
+ * typically after being parked in a dead-letter store, or retried after
+ * {@code retryDelay}. The relay survives any failure, including errors.
+ *
+ * <p>
+ * On construction the log is recovered: records are checked against their CRC-32C, and
+ * the log is truncated at the first torn or corrupt record, which was never acknowledged.
+ * Call {@link #start()} once the subclass is ready to relay records recovered from a
+ * previous run; otherwise the relay starts with the first send. {@link #close()} stops
+ * the relay and leaves the records not yet relayed in the log for the next start.
+ *
+ * <p>
+ * Record format: {@code [int length][int crc32c][length bytes]}; a zero length marks the
+ * unwritten end of a segment.
+ *
+ * @param <TI> the type of the infrastructure input (e.g., Message DTO)
+ * @param <TO> the type of the infrastructure output (e.g., Send Result)
+ * @param <UPayload> the type of the use case payload
+ * @param <UBody> the type of the use case response body
+ */
+public abstract class OutboxMessengerBase<TI, TO, UPayload, UBody>
+		implements Messenger<UPayload, UBody>, AutoCloseable {
+
+	private static final int HEADER = 8;
+
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	private static final String OFFSET_FILE = "relay.offset";
+
+	private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private final Path directory;
+
+	private final int segmentSize;
+
+	private final int maxBatchSize;
+
+	private final long retryDelayNanos;
+
+	private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+	private final ReentrantLock appendLock = new ReentrantLock();
+
+	private final ReentrantLock syncLock = new ReentrantLock();
+
+	private final Condition synced = syncLock.newCondition();
+
+	private final ReentrantLock relayLock = new ReentrantLock();
+
+	private final Condition relayable = relayLock.newCondition();
+
+	private final FileChannel offsetChannel;
+
+	private final MappedByteBuffer offset;
+
+	private Segment current;
+
+	private long written;
+
+	private boolean syncing;
+
+	private boolean closed;
+
+	private volatile long durable;
+
+	private volatile long relayed;
+
+	private volatile boolean stopping;
+
+	private volatile Thread relay;
+
+	/**
+	 * Opens or recovers the outbox stored in {@code directory}.
+	 * @param directory the directory holding the segment and offset files; created if
+	 * missing
+	 * @param segmentSize the size of each segment file in bytes; bounds the size of one
+	 * serialized input
+	 * @param maxBatchSize the maximum number of inputs per {@link #processBatch(List)}
+	 * call; must be positive
+	 * @param retryDelay how long the relay waits before retrying a failed batch; must be
+	 * positive
+	 */
+	protected OutboxMessengerBase(Path directory, int segmentSize, int maxBatchSize, Duration retryDelay) {
+		Objects.requireNonNull(directory, "Directory can not be null.");
+		if (segmentSize <= HEADER) {
+			throw new IllegalArgumentException("Segment size must be larger than " + HEADER + " bytes.");
+		}
+		if (maxBatchSize <= 0) {
+			throw new IllegalArgumentException("Max batch size must be positive.");
+		}
+		if (retryDelay == null || retryDelay.isNegative() || retryDelay.isZero()) {
+			throw new IllegalArgumentException("Retry delay must be positive.");
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxBatchSize = maxBatchSize;
+		this.retryDelayNanos = retryDelay.toNanos();
+		try {
+			Files.createDirectories(directory);
+			offsetChannel = FileChannel.open(directory.resolve(OFFSET_FILE), StandardOpenOption.CREATE,
+					StandardOpenOption.READ, StandardOpenOption.WRITE);
+			offset = offsetChannel.map(FileChannel.MapMode.READ_WRITE, 0, 16);
+			recover();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	public MessengerResponse<UBody> send(MessengerRequest<UPayload> request) {
+		Objects.requireNonNull(request, "MessengerRequest can not be null.");
+		StageTimer timer = Instrumentation.start(getClass(), request.sender());
+		try {
+			TI input = convertPayload(request.sender(), request.payload());
+			timer.complete();
+			validate(input);
+			timer.complete();
+			byte[] data = Objects.requireNonNull(serialize(input), "Serialized input can not be null.");
+			long end = append(data);
+			awaitDurable(end);
+			start();
+			signalRelay();
+			timer.complete();
+			MessengerResponse<UBody> response = new MessengerResponse<>(acknowledge(input, end - HEADER - data.length));
+			timer.complete();
+			return response;
+		}
+		catch (RuntimeException | Error ex) {
+			timer.fail();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Starts the relay if it is not running yet, to deliver the records recovered from a
+	 * previous run without waiting for the first send.
+	 */
+	public void start() {
+		if (relay == null) {
+			synchronized (this) {
+				if (relay == null && !stopping) {
+					// Outlives the send that starts it, so it does not inherit its actor.
+					relay = Thread.ofVirtual()
+						.name(getClass().getSimpleName() + "-relay")
+						.inheritInheritableThreadLocals(false)
+						.start(this::relay);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the log position up to which records are durable
+	 */
+	public long durablePosition() {
+		return durable;
+	}
+
+	/**
+	 * @return the log position up to which records are relayed
+	 */
+	public long relayedPosition() {
+		return relayed;
+	}
+
+	/**
+	 * Waits until every durable record has been relayed.
+	 * @param timeout the maximum time to wait
+	 * @return {@code true} if the relay caught up within the timeout
+	 */
+	public boolean awaitRelayed(Duration timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (relayed < durable) {
+			if (System.nanoTime() >= deadline) {
+				return false;
+			}
+			Thread.sleep(1);
+		}
+		return true;
+	}
+
+	protected abstract TI convertPayload(Actor actor, UPayload payload);
+
+	protected void validate(TI input) {
+		Validator.validate(input);
+	}
+
+	/**
+	 * @param input the validated input
+	 * @return the bytes stored in the outbox; must not be empty
+	 */
+	protected abstract byte[] serialize(TI input);
+
+	protected abstract TI deserialize(byte[] data);
+
+	/**
+	 * Builds the body returned to the sender once its input is durable.
+	 * @param input the stored input
+	 * @param position the log position of the stored record
+	 * @return the response body
+	 */
+	protected abstract UBody acknowledge(TI input, long position);
+
+	/**
+	 * Publishes one input to the messaging system; called by the relay.
+	 * @param input the input read back from the outbox
+	 * @return the output of the messaging system
+	 */
+	protected abstract TO process(TI input);
+
+	/**
+	 * Publishes a group of inputs read from the outbox, in log order. Throwing retries
+	 * the whole group.
+	 *
+	 * <p>
+	 * The default implementation calls {@link #process(Object)} for each input. Override
+	 * it to publish in one round trip.
+	 * @param inputs the inputs to publish
+	 * @return one output per input, in the same order
+	 */
+	protected List<TO> processBatch(List<TI> inputs) {
+		List<TO> outputs = new ArrayList<>(inputs.size());
+		for (TI input : inputs) {
+			outputs.add(process(input));
+		}
+		return outputs;
+	}
+
+	/**
+	 * Decides what happens to a record that the relay failed to relay on its own: either
+	 * {@link #deserialize(byte[])} or {@link #processBatch(List)} threw for it.
+	 *
+	 * <p>
+	 * The default implementation retries the record after {@code retryDelay}, so a record
+	 * that never succeeds stalls the relay. Override it to park such records, e.g. in a
+	 * dead-letter store, and skip them. A hook that throws retries the record.
+	 * @param data the serialized input of the record
+	 * @param position the log position of the record
+	 * @param failure the failure of the last attempt
+	 * @param attempts the number of consecutive failed attempts for this record
+	 * @return {@code true} to skip the record, {@code false} to retry it
+	 */
+	protected boolean skipFailedRecord(byte[] data, long position, Throwable failure, int attempts) {
+		return false;
+	}
+
+	/**
+	 * Stops the relay after its current batch and closes the log. Records not relayed yet
+	 * stay in the outbox and are relayed after the next start. Sends made after this call
+	 * fail.
+	 */
+	@Override
+	public void close() {
+		appendLock.lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		finally {
+			appendLock.unlock();
+		}
+		Thread running;
+		synchronized (this) {
+			stopping = true;
+			running = relay;
+		}
+		if (running != null) {
+			signalRelay();
+			try {
+				running.join();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		try {
+			for (Segment segment : segments.values()) {
+				segment.buffer().force();
+				segment.channel().close();
+			}
+			offset.force();
+			offsetChannel.close();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private long append(byte[] data) {
+		if (data.length == 0) {
+			// A zero length marks the unwritten end of a segment.
+			throw new IllegalArgumentException("Serialized input can not be empty.");
+		}
+		int size = HEADER + data.length;
+		if (size > segmentSize) {
+			throw new IllegalArgumentException("Serialized input of " + data.length + " bytes does not fit a segment.");
+		}
+		CRC32C crc = new CRC32C();
+		crc.update(data);
+		appendLock.lock();
+		try {
+			if (closed) {
+				throw new IllegalStateException("Messenger is closed.");
+			}
+			if (written + size > current.base() + segmentSize) {
+				current = openSegment(current.base() + segmentSize);
+				written = current.base();
+			}
+			int position = (int) (written - current.base());
+			MappedByteBuffer buffer = current.buffer();
+			buffer.put(position + HEADER, data);
+			buffer.putInt(position + 4, (int) crc.getValue());
+			// The length goes last so a torn record never looks complete.
+			buffer.putInt(position, data.length);
+			written += size;
+			return written;
+		}
+		finally {
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns once the log is durable up to {@code end}. The first waiter becomes the
+	 * leader and forces everything appended so far; later waiters ride on its flush.
+	 */
+	private void awaitDurable(long end) {
+		syncLock.lock();
+		try {
+			while (durable < end) {
+				if (!syncing) {
+					syncing = true;
+					boolean forced = false;
+					long target = 0;
+					syncLock.unlock();
+					try {
+						target = force();
+						forced = true;
+					}
+					finally {
+						syncLock.lock();
+						syncing = false;
+						if (forced && target > durable) {
+							durable = target;
+						}
+						synced.signalAll();
+					}
+				}
+				else {
+					synced.awaitUninterruptibly();
+				}
+			}
+		}
+		finally {
+			syncLock.unlock();
+		}
+	}
+
+	private long force() {
+		long target;
+		appendLock.lock();
+		try {
+			target = written;
+		}
+		finally {
+			appendLock.unlock();
+		}
+		Map.Entry<Long, Segment> first = segments.floorEntry(durable);
+		long from = first == null ? segments.firstKey() : first.getKey();
+		for (Segment segment : segments.subMap(from, true, target, true).values()) {
+			segment.buffer().force();
+		}
+		return target;
+	}
+
+	private void relay() {
+		List<Record> records = new ArrayList<>(maxBatchSize);
+		// Records before this position are relayed one at a time, after a failed batch.
+		long isolatedUntil = -1;
+		int attempts = 0;
+		while (!stopping) {
+			try {
+				long position = read(relayed, relayed < isolatedUntil ? 1 : maxBatchSize, records);
+				if (records.isEmpty()) {
+					if (position > relayed) {
+						commitRelayed(position);
+					}
+					awaitRelayable();
+					continue;
+				}
+				Throwable failure = publish(records);
+				if (failure == null) {
+					commitRelayed(position);
+					attempts = 0;
+				}
+				else if (records.size() > 1) {
+					isolatedUntil = position;
+				}
+				else if (skip(records.get(0), failure, ++attempts)) {
+					commitRelayed(position);
+					attempts = 0;
+				}
+				else {
+					awaitRetry();
+				}
+			}
+			catch (Throwable ex) {
+				// The offset file or a segment could not be updated.
+				awaitRetry();
+			}
+			finally {
+				records.clear();
+			}
+		}
+	}
+
+	/**
+	 * @return the failure, or null if every record was published
+	 */
+	private Throwable publish(List<Record> records) {
+		try {
+			List<TI> inputs = new ArrayList<>(records.size());
+			for (Record record : records) {
+				inputs.add(deserialize(record.data()));
+			}
+			List<TO> outputs = processBatch(inputs);
+			if (outputs.size() != inputs.size()) {
+				throw new IllegalStateException("processBatch must return one output per input.");
+			}
+			return null;
+		}
+		catch (Throwable ex) {
+			return ex;
+		}
+	}
+
+	private boolean skip(Record record, Throwable failure, int attempts) {
+		try {
+			return skipFailedRecord(record.data(), record.position(), failure, attempts);
+		}
+		catch (Throwable ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Reads up to {@code maxRecords} durable records starting at {@code position}.
+	 * @return the position after the last record read
+	 */
+	private long read(long position, int maxRecords, List<Record> records) {
+		long limit = durable;
+		while (records.size() < maxRecords && position < limit) {
+			Segment segment = segments.floorEntry(position).getValue();
+			int index = (int) (position - segment.base());
+			int length = index + HEADER > segmentSize ? 0 : segment.buffer().getInt(index);
+			if (length == 0) {
+				// The rest of the segment was skipped when the next one was opened.
+				position = segment.base() + segmentSize;
+				continue;
+			}
+			byte[] data = new byte[length];
+			segment.buffer().get(index + HEADER, data);
+			records.add(new Record(position, data));
+			position += HEADER + length;
+		}
+		return position;
+	}
+
+	private void commitRelayed(long position) {
+		relayed = position;
+		offset.putLong(0, position);
+		offset.putLong(8, ~position);
+		Long last = segments.lastKey();
+		for (Segment segment : segments.headMap(last).values()) {
+			if (segment.base() + segmentSize > position) {
+				break;
+			}
+			offset.force();
+			segments.remove(segment.base());
+			try {
+				segment.channel().close();
+				Files.deleteIfExists(segmentPath(segment.base()));
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+	}
+
+	private void awaitRelayable() {
+		relayLock.lock();
+		try {
+			if (!stopping && relayed >= durable) {
+				relayable.awaitNanos(IDLE_NANOS);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			stopping = true;
+		}
+		finally {
+			relayLock.unlock();
+		}
+	}
+
+	private void awaitRetry() {
+		relayLock.lock();
+		try {
+			long remaining = retryDelayNanos;
+			while (!stopping && remaining > 0) {
+				remaining = relayable.awaitNanos(remaining);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			stopping = true;
+		}
+		finally {
+			relayLock.unlock();
+		}
+	}
+
+	private void signalRelay() {
+		relayLock.lock();
+		try {
+			relayable.signalAll();
+		}
+		finally {
+			relayLock.unlock();
+		}
+	}
+
+	private void recover() throws IOException {
+		List<Long> bases;
+		try (Stream<Path> files = Files.list(directory)) {
+			bases = files.map((file) -> file.getFileName().toString())
+				.filter((name) -> name.endsWith(SEGMENT_SUFFIX))
+				.map((name) -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+				.sorted()
+				.toList();
+		}
+		long next = -1;
+		boolean truncated = false;
+		for (long base : bases) {
+			if (truncated || (next >= 0 && base != next)) {
+				// Nothing after a torn record or a gap was acknowledged.
+				truncated = true;
+				Files.delete(segmentPath(base));
+				continue;
+			}
+			Segment segment = openSegment(base);
+			int index = scan(segment);
+			written = base + index;
+			next = base + segmentSize;
+			truncated = index + HEADER <= segmentSize && segment.buffer().getInt(index) != 0;
+		}
+		if (segments.isEmpty()) {
+			current = openSegment(0);
+			written = 0;
+		}
+		else {
+			current = segments.lastEntry().getValue();
+			truncate(current, (int) (written - current.base()));
+		}
+		durable = written;
+		long stored = offset.getLong(0);
+		long position = stored == ~offset.getLong(8) ? stored : 0;
+		relayed = Math.min(Math.max(position, segments.firstKey()), written);
+	}
+
+	/**
+	 * @return the index after the last valid record of the segment
+	 */
+	private int scan(Segment segment) {
+		MappedByteBuffer buffer = segment.buffer();
+		int index = 0;
+		CRC32C crc = new CRC32C();
+		while (index + HEADER <= segmentSize) {
+			int length = buffer.getInt(index);
+			if (length <= 0 || length > segmentSize - index - HEADER) {
+				break;
+			}
+			byte[] data = new byte[length];
+			buffer.get(index + HEADER, data);
+			crc.reset();
+			crc.update(data);
+			if ((int) crc.getValue() != buffer.getInt(index + 4)) {
+				break;
+			}
+			index += HEADER + length;
+		}
+		return index;
+	}
+
+	/**
+	 * Clears the segment from {@code index} on, so that no leftover of a torn record is
+	 * ever read as part of a later one.
+	 */
+	private void truncate(Segment segment, int index) {
+		MappedByteBuffer buffer = segment.buffer();
+		boolean dirty = false;
+		for (int i = index; i < segmentSize; i++) {
+			if (buffer.get(i) != 0) {
+				buffer.put(i, (byte) 0);
+				dirty = true;
+			}
+		}
+		if (dirty) {
+			buffer.force();
+		}
+	}
+
+	private Segment openSegment(long base) {
+		try {
+			FileChannel channel = FileChannel.open(segmentPath(base), StandardOpenOption.CREATE,
+					StandardOpenOption.READ, StandardOpenOption.WRITE);
+			Segment segment = new Segment(base, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+			segments.put(base, segment);
+			return segment;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private Path segmentPath(long base) {
+		return directory.resolve(String.format("%020d", base) + SEGMENT_SUFFIX);
+	}
+
+	private record Segment(long base, FileChannel channel, MappedByteBuffer buffer) {
+	}
+
+	private record Record(long position, byte[] data) {
+	}
+
+}
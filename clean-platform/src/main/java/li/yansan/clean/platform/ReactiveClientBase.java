@@ -0,0 +1,34 @@
+package li.yansan.clean.platform;
+
+import java.util.concurrent.Flow;
+
+import li.yansan.clean.application.client.ReactiveClient;
+import li.yansan.clean.application.client.ClientRequest;
+import li.yansan.clean.application.client.ClientResponse;
+
+/**
+ * Reactive counterpart of {@link ClientBase}.
+ *
+ * <p>
+ * Subclasses implement the same template methods as for {@link ClientBase}. Every request
+ * published to {@link #send(Flow.Publisher)} runs the convert, validate, process and
+ * convert steps of {@link #send(ClientRequest)} on a virtual thread of the subscription,
+ * never on the thread of the source, and its response is published downstream. One
+ * request is pulled from the source per response the subscriber asks for, so the external
+ * system is only called as fast as the subscriber consumes responses. A failing request
+ * terminates the stream with {@code onError} and cancels the source.
+ *
+ * @param <TI> the type of the client input
+ * @param <TO> the type of the client output
+ * @param <UPayload> the type of the use case payload
+ * @param <UBody> the type of the use case response body
+ */
+public abstract class ReactiveClientBase<TI, TO, UPayload, UBody> extends ClientBase<TI, TO, UPayload, UBody>
+		implements ReactiveClient<UPayload, UBody> {
+
+	@Override
+	public Flow.Publisher<ClientResponse<UBody>> send(Flow.Publisher<ClientRequest<UPayload>> requests) {
+		return new MappingPublisher<>(requests, this::send, getClass().getSimpleName() + "-reactive");
+	}
+
+}
@@ -0,0 +1,34 @@
+package li.yansan.clean.platform;
+
+import java.util.concurrent.Flow;
+
+import li.yansan.clean.application.messaging.ReactiveMessenger;
+import li.yansan.clean.application.messaging.MessengerRequest;
+import li.yansan.clean.application.messaging.MessengerResponse;
+
+/**
+ * Reactive counterpart of {@link MessengerBase}.
+ *
+ * <p>
+ * Subclasses implement the same template methods as for {@link MessengerBase}. Every
+ * request published to {@link #send(Flow.Publisher)} runs the convert, validate, process
+ * and convert steps of {@link #send(MessengerRequest)} on a virtual thread of the
+ * subscription, never on the thread of the source, and its response is published
+ * downstream. One request is pulled from the source per response the subscriber asks for,
+ * so the messaging system is only called as fast as the subscriber consumes responses. A
+ * failing request terminates the stream with {@code onError} and cancels the source.
+ *
+ * @param <TI> the type of the messaging input
+ * @param <TO> the type of the messaging output
+ * @param <UPayload> the type of the use case payload
+ * @param <UBody> the type of the use case response body
+ */
+public abstract class ReactiveMessengerBase<TI, TO, UPayload, UBody> extends MessengerBase<TI, TO, UPayload, UBody>
+		implements ReactiveMessenger<UPayload, UBody> {
+
+	@Override
+	public Flow.Publisher<MessengerResponse<UBody>> send(Flow.Publisher<MessengerRequest<UPayload>> requests) {
+		return new MappingPublisher<>(requests, this::send, getClass().getSimpleName() + "-reactive");
+	}
+
+}
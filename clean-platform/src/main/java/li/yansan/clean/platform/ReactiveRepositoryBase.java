@@ -0,0 +1,34 @@
+package li.yansan.clean.platform;
+
+import java.util.concurrent.Flow;
+
+import li.yansan.clean.application.repository.ReactiveRepository;
+import li.yansan.clean.application.repository.RepositoryRequest;
+import li.yansan.clean.application.repository.RepositoryResponse;
+
+/**
+ * Reactive counterpart of {@link RepositoryBase}.
+ *
+ * <p>
+ * Subclasses implement the same template methods as for {@link RepositoryBase}. Every
+ * request published to {@link #send(Flow.Publisher)} runs the convert, validate, process
+ * and convert steps of {@link #send(RepositoryRequest)} on a virtual thread of the
+ * subscription, never on the thread of the source, and its response is published
+ * downstream. One request is pulled from the source per response the subscriber asks for,
+ * so the database is only called as fast as the subscriber consumes responses. A failing
+ * request terminates the stream with {@code onError} and cancels the source.
+ *
+ * @param <TI> the type of the database input
+ * @param <TO> the type of the database output
+ * @param <UPayload> the type of the use case payload
+ * @param <UBody> the type of the use case response body
+ */
+public abstract class ReactiveRepositoryBase<TI, TO, UPayload, UBody> extends RepositoryBase<TI, TO, UPayload, UBody>
+		implements ReactiveRepository<UPayload, UBody> {
+
+	@Override
+	public Flow.Publisher<RepositoryResponse<UBody>> send(Flow.Publisher<RepositoryRequest<UPayload>> requests) {
+		return new MappingPublisher<>(requests, this::send, getClass().getSimpleName() + "-reactive");
+	}
+
+}
@@ -0,0 +1,55 @@
+package li.yansan.clean.platform;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+import li.yansan.clean.application.ReactiveUseCase;
+import li.yansan.clean.application.UseCase;
+import li.yansan.clean.application.UseCaseRequest;
+import li.yansan.clean.application.UseCaseResponse;
+import li.yansan.clean.commons.validation.ValidationContext;
+import li.yansan.clean.commons.validation.Validator;
+
+/**
+ * Adapts a blocking {@link UseCase} to {@link ReactiveUseCase}.
+ *
+ * <p>
+ * Requests are executed one at a time on a virtual thread of the subscription, never on
+ * the thread of the source delivering them, each inside its own
+ * {@link ValidationContext}. One request is pulled from the source per response the
+ * subscriber asks for, so the source, and the blocking ports the delegate calls, only run
+ * as fast as the subscriber consumes responses. A failing execution terminates the stream
+ * with {@code onError} and cancels the source; cancelling the subscription interrupts the
+ * running execution.
+ *
+ * @param <UPayload> the type of the request payload
+ * @param <UBody> the type of the response body
+ */
+public final class ReactiveUseCaseAdapter<UPayload, UBody> implements ReactiveUseCase<UPayload, UBody> {
+
+	private final UseCase<UPayload, UBody> delegate;
+
+	public ReactiveUseCaseAdapter(UseCase<UPayload, UBody> delegate) {
+		this.delegate = Objects.requireNonNull(delegate, "UseCase can not be null.");
+	}
+
+	@Override
+	public Flow.Publisher<UseCaseResponse<UBody>> execute(Flow.Publisher<UseCaseRequest<UPayload>> requests) {
+		return new MappingPublisher<>(requests, this::execute, delegate.getClass().getSimpleName() + "-reactive");
+	}
+
+	private UseCaseResponse<UBody> execute(UseCaseRequest<UPayload> request) {
+		Objects.requireNonNull(request, "UseCaseRequest can not be null.");
+		UseCaseExecutionEvent event = UseCaseExecutionEvent.start();
+		boolean success = false;
+		try (ValidationContext context = Validator.openContext()) {
+			UseCaseResponse<UBody> response = delegate.execute(request);
+			success = true;
+			return response;
+		}
+		finally {
+			event.complete(delegate.getClass(), request.actor(), success);
+		}
+	}
+
+}
@@ -1,11 +1,15 @@
 package li.yansan.clean.platform;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 import li.yansan.clean.application.Actor;
 import li.yansan.clean.application.repository.Repository;
 import li.yansan.clean.application.repository.RepositoryRequest;
 import li.yansan.clean.application.repository.RepositoryResponse;
+import li.yansan.clean.application.repository.RepositoryResult;
 import li.yansan.clean.commons.validation.Validator;
 
 /**
@@ -32,6 +36,13 @@ import li.yansan.clean.commons.validation.Validator;
  * <li><b>Return Output:</b> Returns a {@link RepositoryResponse} containing the result.
  * </ul>
  *
+ * <p>
+ * {@link #sendAll(List)} runs the same pipeline for many requests but hands all valid
+ * inputs to {@link #processBatch(List)} at once, so subclasses can use batch inserts.
+ * Conversion and validation failures are reported per request, and so are the
+ * {@link BatchOutcome outcomes} returned by {@code processBatch}; a failure it throws is
+ * reported for every request of the batch.
+ *
  * @param <TI> the type of the database input (e.g., Entity or DTO)
  * @param <TO> the type of the database output (e.g., Entity or DTO)
  * @param <UPayload> the type of the use case payload
@@ -41,11 +52,82 @@ public abstract class RepositoryBase<TI, TO, UPayload, UBody> implements Reposit
 
 	public RepositoryResponse<UBody> send(RepositoryRequest<UPayload> request) {
 		Objects.requireNonNull(request, "RepositoryRequest can not be null.");
-		TI input = convertPayload(request.sender(), request.payload());
-		validate(input);
-		TO output = process(input);
-		UBody body = convertToBody(output);
-		return new RepositoryResponse<>(body);
+		StageTimer timer = Instrumentation.start(getClass(), request.sender());
+		try {
+			TI input = convertPayload(request.sender(), request.payload());
+			timer.complete();
+			validate(input);
+			timer.complete();
+			TO output = process(input);
+			timer.complete();
+			RepositoryResponse<UBody> response = new RepositoryResponse<>(convertToBody(output));
+			timer.complete();
+			return response;
+		}
+		catch (RuntimeException | Error ex) {
+			timer.fail();
+			throw ex;
+		}
+	}
+
+	@Override
+	public List<RepositoryResult<UBody>> sendAll(List<RepositoryRequest<UPayload>> requests) {
+		Objects.requireNonNull(requests, "RepositoryRequests can not be null.");
+		int size = requests.size();
+		RuntimeException[] failures = new RuntimeException[size];
+		List<TI> inputs = new ArrayList<>(size);
+		int[] positions = new int[size];
+		for (int i = 0; i < size; i++) {
+			try {
+				RepositoryRequest<UPayload> request = requests.get(i);
+				Objects.requireNonNull(request, "RepositoryRequest can not be null.");
+				TI input = convertPayload(request.sender(), request.payload());
+				validate(input);
+				positions[inputs.size()] = i;
+				inputs.add(input);
+			}
+			catch (RuntimeException ex) {
+				failures[i] = ex;
+			}
+		}
+		List<BatchOutcome<TO>> outcomes = List.of();
+		if (!inputs.isEmpty()) {
+			try {
+				outcomes = processBatch(inputs);
+				if (outcomes.size() != inputs.size()) {
+					throw new IllegalStateException("processBatch must return one outcome per input.");
+				}
+			}
+			catch (RuntimeException ex) {
+				outcomes = Collections.nCopies(inputs.size(), BatchOutcome.failure(ex));
+			}
+		}
+		@SuppressWarnings("unchecked")
+		RepositoryResponse<UBody>[] responses = new RepositoryResponse[size];
+		for (int j = 0; j < inputs.size(); j++) {
+			int i = positions[j];
+			BatchOutcome<TO> outcome = outcomes.get(j);
+			if (outcome == null) {
+				failures[i] = new IllegalStateException("processBatch returned no outcome for the input.");
+				continue;
+			}
+			if (!outcome.isSuccess()) {
+				failures[i] = outcome.failure();
+				continue;
+			}
+			try {
+				responses[i] = new RepositoryResponse<>(convertToBody(outcome.output()));
+			}
+			catch (RuntimeException ex) {
+				failures[i] = ex;
+			}
+		}
+		List<RepositoryResult<UBody>> results = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			results.add(failures[i] != null ? RepositoryResult.failure(failures[i])
+					: RepositoryResult.success(responses[i]));
+		}
+		return results;
 	}
 
 	protected abstract TI convertPayload(Actor actor, UPayload payload);
@@ -56,6 +138,60 @@ public abstract class RepositoryBase<TI, TO, UPayload, UBody> implements Reposit
 
 	protected abstract TO process(TI input);
 
+	/**
+	 * Processes all valid inputs of a {@link #sendAll(List)} call at once.
+	 *
+	 * <p>
+	 * The default implementation calls {@link #process(Object)} for each input, and goes
+	 * on after an input fails, so that {@link #sendAll(List)} reports only the failed
+	 * inputs as failures. Override it to use a bulk operation (e.g., JDBC batch,
+	 * {@code saveAll}). A failure thrown by the override is reported for every input, so
+	 * it should either write all inputs or none, such as in one transaction, or return a
+	 * {@link BatchOutcome#failure(RuntimeException) failure} for each input it did not
+	 * write. An override that splits the inputs into chunks can combine the outcomes of
+	 * {@code super.processBatch(chunk)}.
+	 * @param inputs the converted and validated inputs
+	 * @return one outcome per input, in the same order
+	 */
+	protected List<BatchOutcome<TO>> processBatch(List<TI> inputs) {
+		List<BatchOutcome<TO>> outcomes = new ArrayList<>(inputs.size());
+		for (TI input : inputs) {
+			try {
+				outcomes.add(BatchOutcome.success(process(input)));
+			}
+			catch (RuntimeException ex) {
+				outcomes.add(BatchOutcome.failure(ex));
+			}
+		}
+		return outcomes;
+	}
+
 	protected abstract UBody convertToBody(TO output);
 
+	/**
+	 * Outcome of one input of {@link #processBatch(List)}.
+	 *
+	 * <p>
+	 * The output is only meaningful if {@code failure} is null; it may itself be null.
+	 *
+	 * @param <T> the type of the database output
+	 * @param output the output if the input was processed, otherwise null
+	 * @param failure the failure if the input was not processed, otherwise null
+	 */
+	protected record BatchOutcome<T>(T output, RuntimeException failure) {
+
+		public static <T> BatchOutcome<T> success(T output) {
+			return new BatchOutcome<>(output, null);
+		}
+
+		public static <T> BatchOutcome<T> failure(RuntimeException failure) {
+			return new BatchOutcome<>(null, Objects.requireNonNull(failure, "Failure can not be null."));
+		}
+
+		public boolean isSuccess() {
+			return failure == null;
+		}
+
+	}
+
 }
@@ -0,0 +1,347 @@
+package li.yansan.clean.platform;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import li.yansan.clean.application.client.Client;
+import li.yansan.clean.application.client.ClientRequest;
+import li.yansan.clean.application.client.ClientResponse;
+
+/**
+ * Decorator that isolates use cases from a slow or failing {@link Client}.
+ *
+ * <p>
+ * <b>Protections:</b>
+ *
+ * <ul>
+ * <li><b>Bulkhead:</b> At most {@code maxConcurrentCalls} delegate calls are in flight,
+ * counting hedged attempts and attempts abandoned at their deadline until they return;
+ * further calls are rejected immediately with a {@link RejectedExecutionException}
+ * instead of queueing.
+ * <li><b>Deadline:</b> A call that takes longer than {@code timeout} is interrupted and
+ * fails with a {@link CompletionException} caused by a {@link TimeoutException}.
+ * <li><b>Circuit Breaker:</b> After {@code failureThreshold} consecutive failures the
+ * circuit opens and calls are rejected for {@code openDuration}. Then a single probe call
+ * is let through (half-open); its outcome closes or re-opens the circuit.
+ * <li><b>Hedging:</b> When {@code hedgePercentile} is positive and enough latencies were
+ * observed, a call still running after that percentile of past latencies is duplicated,
+ * if the bulkhead has room for it; the first successful response wins and the other call
+ * is interrupted.
+ * </ul>
+ *
+ * <p>
+ * Admission (bulkhead and circuit state) uses only atomic operations. Each delegate call
+ * runs on its own virtual thread so that it can be abandoned at the deadline. Hedging
+ * duplicates requests, so only enable it for idempotent calls.
+ *
+ * @param <UPayload> the type of the request payload
+ * @param <UBody> the type of the response body
+ * @see FakeClient
+ */
+public final class ResilientClient<UPayload, UBody> implements Client<UPayload, UBody> {
+
+	private static final int HEDGE_MIN_SAMPLES = 100;
+
+	private final Client<UPayload, UBody> delegate;
+
+	private final Settings settings;
+
+	private final Semaphore bulkhead;
+
+	private final CircuitBreaker circuitBreaker;
+
+	private final LatencyHistogram latencies = new LatencyHistogram();
+
+	public ResilientClient(Client<UPayload, UBody> delegate, Settings settings) {
+		this.delegate = Objects.requireNonNull(delegate, "Client can not be null.");
+		this.settings = Objects.requireNonNull(settings, "Settings can not be null.");
+		this.bulkhead = new Semaphore(settings.maxConcurrentCalls());
+		this.circuitBreaker = new CircuitBreaker(settings.failureThreshold(), settings.openDuration().toNanos());
+	}
+
+	@Override
+	public ClientResponse<UBody> send(ClientRequest<UPayload> request) {
+		Objects.requireNonNull(request, "ClientRequest can not be null.");
+		if (!bulkhead.tryAcquire()) {
+			throw new RejectedExecutionException("Bulkhead is full.");
+		}
+		CircuitState admission = circuitBreaker.tryAcquire();
+		if (admission == null) {
+			bulkhead.release();
+			throw new RejectedExecutionException("Circuit breaker is open.");
+		}
+		long start = System.nanoTime();
+		try {
+			ClientResponse<UBody> response = call(request, start);
+			latencies.record(System.nanoTime() - start);
+			circuitBreaker.onSuccess(admission);
+			return response;
+		}
+		catch (RuntimeException | Error ex) {
+			circuitBreaker.onFailure(admission);
+			throw ex;
+		}
+	}
+
+	public CircuitState circuitState() {
+		return circuitBreaker.state();
+	}
+
+	/**
+	 * Returns the latencies of successful calls, which drive the hedging delay.
+	 * @return the latency histogram in nanoseconds
+	 */
+	public LatencyHistogram latencies() {
+		return latencies;
+	}
+
+	/**
+	 * Runs the call holding the bulkhead permit acquired by {@link #send}; each attempt
+	 * releases its permit when it returns.
+	 */
+	private ClientResponse<UBody> call(ClientRequest<UPayload> request, long start) {
+		long deadline = start + settings.timeout().toNanos();
+		Attempts<UBody> attempts = new Attempts<>(bulkhead);
+		attempts.start(() -> delegate.send(request));
+		try {
+			long hedgeDelay = hedgeDelay();
+			if (hedgeDelay > 0 && hedgeDelay < deadline - System.nanoTime()) {
+				try {
+					return attempts.winner().get(hedgeDelay, TimeUnit.NANOSECONDS);
+				}
+				catch (TimeoutException ex) {
+					if (bulkhead.tryAcquire()) {
+						attempts.start(() -> delegate.send(request));
+					}
+				}
+			}
+			return attempts.winner().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			throw new CompletionException("Client call timed out after " + settings.timeout(), ex);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (ex.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw new CompletionException(ex.getCause());
+		}
+		finally {
+			attempts.cancel();
+		}
+	}
+
+	private long hedgeDelay() {
+		if (settings.hedgePercentile() <= 0 || latencies.count() < HEDGE_MIN_SAMPLES) {
+			return 0;
+		}
+		return latencies.percentile(settings.hedgePercentile());
+	}
+
+	/**
+	 * Resilience settings of a {@link ResilientClient}.
+	 *
+	 * @param maxConcurrentCalls the bulkhead size; must be positive
+	 * @param timeout the deadline of a call; must be positive
+	 * @param failureThreshold the consecutive failures that open the circuit; must be
+	 * positive
+	 * @param openDuration how long the circuit stays open before probing; must not be
+	 * negative
+	 * @param hedgePercentile the latency percentile after which a call is hedged, or 0 to
+	 * disable hedging
+	 */
+	public record Settings(int maxConcurrentCalls, Duration timeout, int failureThreshold, Duration openDuration,
+			double hedgePercentile) {
+
+		public Settings {
+			if (maxConcurrentCalls <= 0) {
+				throw new IllegalArgumentException("Max concurrent calls must be positive.");
+			}
+			if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+				throw new IllegalArgumentException("Timeout must be positive.");
+			}
+			if (failureThreshold <= 0) {
+				throw new IllegalArgumentException("Failure threshold must be positive.");
+			}
+			if (openDuration == null || openDuration.isNegative()) {
+				throw new IllegalArgumentException("Open duration can not be negative.");
+			}
+			if (hedgePercentile < 0 || hedgePercentile >= 100) {
+				throw new IllegalArgumentException("Hedge percentile must be between 0 and 100.");
+			}
+		}
+
+	}
+
+	public enum CircuitState {
+
+		CLOSED, OPEN, HALF_OPEN
+
+	}
+
+	/**
+	 * Up to two concurrent attempts of the same call; the first success wins, the call
+	 * fails once every attempt has failed.
+	 */
+	private static final class Attempts<UBody> {
+
+		private final CompletableFuture<ClientResponse<UBody>> winner = new CompletableFuture<>();
+
+		private final AtomicInteger running = new AtomicInteger();
+
+		private final Thread[] threads = new Thread[2];
+
+		private final Semaphore bulkhead;
+
+		private int started;
+
+		Attempts(Semaphore bulkhead) {
+			this.bulkhead = bulkhead;
+		}
+
+		/**
+		 * Starts an attempt holding a bulkhead permit already acquired, which it releases
+		 * when it returns.
+		 */
+		void start(Supplier<ClientResponse<UBody>> call) {
+			running.incrementAndGet();
+			try {
+				threads[started] = Thread.ofVirtual().start(() -> {
+					ClientResponse<UBody> response;
+					try {
+						response = call.get();
+					}
+					catch (Throwable ex) {
+						bulkhead.release();
+						if (running.decrementAndGet() == 0) {
+							winner.completeExceptionally(ex);
+						}
+						return;
+					}
+					// Released first, so the permit is free once the caller returns.
+					bulkhead.release();
+					winner.complete(response);
+				});
+				started++;
+			}
+			catch (RuntimeException | Error ex) {
+				running.decrementAndGet();
+				bulkhead.release();
+				throw ex;
+			}
+		}
+
+		CompletableFuture<ClientResponse<UBody>> winner() {
+			return winner;
+		}
+
+		void cancel() {
+			for (int i = 0; i < started; i++) {
+				if (threads[i].isAlive()) {
+					threads[i].interrupt();
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Consecutive-failure circuit breaker driven by compare-and-set on its state. The
+	 * state and the time it opened change together, so only the caller that wins a
+	 * transition to OPEN sets that time.
+	 */
+	private static final class CircuitBreaker {
+
+		private static final Circuit CLOSED = new Circuit(CircuitState.CLOSED, 0);
+
+		private final AtomicReference<Circuit> circuit = new AtomicReference<>(CLOSED);
+
+		private final AtomicInteger failures = new AtomicInteger();
+
+		private final int failureThreshold;
+
+		private final long openNanos;
+
+		CircuitBreaker(int failureThreshold, long openNanos) {
+			this.failureThreshold = failureThreshold;
+			this.openNanos = openNanos;
+		}
+
+		CircuitState state() {
+			return circuit.get().state();
+		}
+
+		/**
+		 * @return {@link CircuitState#CLOSED} for a regular call,
+		 * {@link CircuitState#HALF_OPEN} for the probe, or null if the call is rejected
+		 */
+		CircuitState tryAcquire() {
+			Circuit current = circuit.get();
+			if (current.state() == CircuitState.CLOSED) {
+				return CircuitState.CLOSED;
+			}
+			// Only one caller wins the transition and becomes the half-open probe.
+			if (current.state() == CircuitState.OPEN && System.nanoTime() - current.openedAt() >= openNanos
+					&& circuit.compareAndSet(current, new Circuit(CircuitState.HALF_OPEN, current.openedAt()))) {
+				return CircuitState.HALF_OPEN;
+			}
+			return null;
+		}
+
+		/**
+		 * @param admission the state the call was admitted in
+		 */
+		void onSuccess(CircuitState admission) {
+			Circuit current = circuit.get();
+			if (admission == CircuitState.HALF_OPEN) {
+				failures.set(0);
+				if (current.state() == CircuitState.HALF_OPEN) {
+					circuit.compareAndSet(current, CLOSED);
+				}
+			}
+			else if (current.state() == CircuitState.CLOSED) {
+				// A call admitted before the circuit opened does not close it.
+				failures.set(0);
+			}
+		}
+
+		/**
+		 * @param admission the state the call was admitted in
+		 */
+		void onFailure(CircuitState admission) {
+			Circuit current = circuit.get();
+			if (admission == CircuitState.HALF_OPEN) {
+				if (current.state() == CircuitState.HALF_OPEN) {
+					circuit.compareAndSet(current, new Circuit(CircuitState.OPEN, System.nanoTime()));
+				}
+			}
+			// A call admitted before the circuit opened does not keep it open longer.
+			else if (current.state() == CircuitState.CLOSED && failures.incrementAndGet() >= failureThreshold
+					&& circuit.compareAndSet(current, new Circuit(CircuitState.OPEN, System.nanoTime()))) {
+				failures.set(0);
+			}
+		}
+
+		private record Circuit(CircuitState state, long openedAt) {
+		}
+
+	}
+
+}
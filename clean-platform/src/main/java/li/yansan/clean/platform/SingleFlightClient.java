@@ -0,0 +1,82 @@
+package li.yansan.clean.platform;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import li.yansan.clean.application.client.Client;
+import li.yansan.clean.application.client.ClientRequest;
+import li.yansan.clean.application.client.ClientResponse;
+
+/**
+ * Decorator that collapses concurrent identical calls to a {@link Client}.
+ *
+ * <p>
+ * While a call for a payload is in flight, further calls with an {@link Object#equals
+ * equal} payload do not reach the delegate; they wait for the in-flight call and receive
+ * the same {@link ClientResponse}, or the same failure. This protects external systems
+ * from stampedes of identical requests (e.g., geocoding or pricing lookups after a cache
+ * expiry). Calls are only shared while in flight, nothing is cached afterwards.
+ *
+ * <p>
+ * The payload alone identifies a call: requests from different actors with equal payloads
+ * are collapsed, so only wrap clients whose result does not depend on the actor. Payloads
+ * must implement {@code equals} and {@code hashCode}, which records do.
+ *
+ * @param <UPayload> the type of the request payload
+ * @param <UBody> the type of the response body
+ */
+public final class SingleFlightClient<UPayload, UBody> implements Client<UPayload, UBody> {
+
+	private final ConcurrentMap<UPayload, CompletableFuture<ClientResponse<UBody>>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder executed = new LongAdder();
+
+	private final LongAdder collapsed = new LongAdder();
+
+	private final Client<UPayload, UBody> delegate;
+
+	public SingleFlightClient(Client<UPayload, UBody> delegate) {
+		this.delegate = Objects.requireNonNull(delegate, "Client can not be null.");
+	}
+
+	@Override
+	public ClientResponse<UBody> send(ClientRequest<UPayload> request) {
+		Objects.requireNonNull(request, "ClientRequest can not be null.");
+		CompletableFuture<ClientResponse<UBody>> call = new CompletableFuture<>();
+		CompletableFuture<ClientResponse<UBody>> leader = inFlight.putIfAbsent(request.payload(), call);
+		if (leader != null) {
+			collapsed.increment();
+			return Futures.join(leader);
+		}
+		executed.increment();
+		try {
+			ClientResponse<UBody> response = delegate.send(request);
+			call.complete(response);
+			return response;
+		}
+		catch (RuntimeException | Error ex) {
+			call.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			inFlight.remove(request.payload(), call);
+		}
+	}
+
+	public Statistics statistics() {
+		return new Statistics(executed.sum(), collapsed.sum());
+	}
+
+	/**
+	 * Call statistics since creation.
+	 *
+	 * @param executed the number of calls sent to the delegate
+	 * @param collapsed the number of calls that shared an in-flight call
+	 */
+	public record Statistics(long executed, long collapsed) {
+	}
+
+}
@@ -0,0 +1,86 @@
+package li.yansan.clean.platform;
+
+import li.yansan.clean.application.Actor;
+
+/**
+ * Times the consecutive stages of one adapter {@code send} call.
+ *
+ * <p>
+ * Each {@link #complete()} records the time since the previous one as the next
+ * {@link AdapterStage}; {@link #fail()} records the stage that was running as failed.
+ * Stages go to the installed {@link AdapterMetrics} and, while a Flight Recorder
+ * recording has it enabled, to an {@link AdapterCallEvent} committed when the call ends.
+ */
+final class StageTimer {
+
+	static final StageTimer DISABLED = new StageTimer(null, null, null, null);
+
+	private static final AdapterStage[] STAGES = AdapterStage.values();
+
+	private final Class<?> adapter;
+
+	private final Actor actor;
+
+	private final AdapterMetrics metrics;
+
+	private final AdapterCallEvent event;
+
+	private int stage;
+
+	private long mark;
+
+	StageTimer(Class<?> adapter, Actor actor, AdapterMetrics metrics, AdapterCallEvent event) {
+		this.adapter = adapter;
+		this.actor = actor;
+		this.metrics = metrics;
+		this.event = event;
+		if (event != null) {
+			event.begin();
+		}
+		this.mark = metrics == null && event == null ? 0 : System.nanoTime();
+	}
+
+	void complete() {
+		if ((metrics == null && event == null) || stage >= STAGES.length) {
+			return;
+		}
+		long now = System.nanoTime();
+		record(STAGES[stage++], now - mark, true);
+		mark = now;
+		if (stage == STAGES.length) {
+			commit(true);
+		}
+	}
+
+	void fail() {
+		if ((metrics == null && event == null) || stage >= STAGES.length) {
+			return;
+		}
+		record(STAGES[stage], System.nanoTime() - mark, false);
+		stage = STAGES.length;
+		commit(false);
+	}
+
+	private void record(AdapterStage current, long nanos, boolean success) {
+		if (metrics != null) {
+			metrics.record(adapter, current, nanos, success);
+		}
+		if (event != null) {
+			event.setStage(current, nanos);
+		}
+	}
+
+	private void commit(boolean success) {
+		if (event == null) {
+			return;
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.adapter = adapter;
+			event.actorType = actor == null ? null : actor.getClass();
+			event.success = success;
+			event.commit();
+		}
+	}
+
+}
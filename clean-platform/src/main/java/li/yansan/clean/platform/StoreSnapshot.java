@@ -0,0 +1,442 @@
+package li.yansan.clean.platform;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only, memory-mapped snapshot of a store's bodies by {@code long} key, used to warm
+ * start in-memory repositories without reloading them from the database.
+ *
+ * <p>
+ * {@link #write(Path, long, OffHeapStore)} saves an {@link OffHeapStore} without decoding
+ * its bodies; {@link #write(Path, long, Collection, ToLongFunction, OffHeapStore.Codec)}
+ * saves any bodies, such as the values of {@link InMemoryStore#snapshot()}. Files are
+ * written next to their target and renamed into place, so readers never see a partial
+ * snapshot.
+ *
+ * <p>
+ * {@link #open(Path, OffHeapStore.Codec)} maps the file and checks its checksum, after
+ * which the snapshot can serve reads straight away: {@link #get(long)} binary searches
+ * the sorted keys, guided by every 64th key kept on the heap, and decodes only the body
+ * it returns, from the mapped bytes. The store can be filled in the background meanwhile
+ * with {@link #loadInto(OffHeapStore)}, which copies the encoded bodies without decoding
+ * them, or {@link #forEach(Consumer)}.
+ *
+ * <pre>{@code
+ * StoreSnapshot<Product> snapshot = StoreSnapshot.open(file, new ProductCodec());
+ * if (snapshot.dataVersion() == expectedVersion) {
+ *   snapshot.loadInto(products);
+ * }
+ * }</pre>
+ *
+ * <p>
+ * <b>Format</b> (big-endian):
+ *
+ * <ul>
+ * <li><b>Header</b> (48 bytes): magic {@code "CLNS"}, format version, data version,
+ * count, data length, maximum record length, CRC-32C checksum.
+ * <li><b>Data:</b> one {@code [int length][bytes]} record per body, padded to a multiple
+ * of 8 bytes.
+ * <li><b>Keys:</b> the keys in ascending order, as {@code long}s.
+ * <li><b>Offsets:</b> the position of each key's record in the data section, as
+ * {@code long}s.
+ * </ul>
+ *
+ * <p>
+ * The checksum covers everything after the header, followed by the header fields before
+ * it. The data version is not interpreted; it tells which state of the source data the
+ * snapshot holds.
+ *
+ * @param <V> the type of the stored body
+ */
+public final class StoreSnapshot<V> {
+
+	/**
+	 * The version of the file layout written by this class.
+	 */
+	public static final int FORMAT_VERSION = 1;
+
+	private static final int MAGIC = 0x434C4E53;
+
+	private static final int HEADER = 48;
+
+	private static final int CHECKSUM = 40;
+
+	private static final int LENGTH = 4;
+
+	/**
+	 * The stride of the mapped windows. Each window also maps one maximum record past its
+	 * end, so a record starting in a window is entirely inside it.
+	 */
+	private static final long WINDOW = 1L << 30;
+
+	/**
+	 * One key in this many is kept on the heap, so that a lookup only searches one small
+	 * block of the mapped keys.
+	 */
+	private static final int FENCE_STRIDE = 64;
+
+	private final OffHeapStore.Codec<V> codec;
+
+	private final ByteBuffer[] windows;
+
+	private final long dataVersion;
+
+	private final int size;
+
+	private final long keys;
+
+	private final long offsets;
+
+	private final long[] fences;
+
+	private StoreSnapshot(OffHeapStore.Codec<V> codec, ByteBuffer[] windows, long dataVersion, int size, long keys,
+			long offsets) {
+		this.codec = codec;
+		this.windows = windows;
+		this.dataVersion = dataVersion;
+		this.size = size;
+		this.keys = keys;
+		this.offsets = offsets;
+		this.fences = new long[(size + FENCE_STRIDE - 1) / FENCE_STRIDE];
+		for (int i = 0; i < fences.length; i++) {
+			fences[i] = readLong(keys + 8L * i * FENCE_STRIDE);
+		}
+	}
+
+	/**
+	 * Writes every body of an off-heap store, as encoded by its codec. Writes to the
+	 * store wait until the snapshot is written.
+	 * @param file the snapshot file; replaced if it exists
+	 * @param dataVersion the version of the source data held by the store
+	 * @param store the store to save
+	 */
+	public static void write(Path file, long dataVersion, OffHeapStore<?> store) {
+		Objects.requireNonNull(store, "Store can not be null.");
+		write(file, dataVersion, (output) -> store.forEachEncoded(output::add));
+	}
+
+	/**
+	 * Writes the given bodies.
+	 * @param file the snapshot file; replaced if it exists
+	 * @param dataVersion the version of the source data the bodies come from
+	 * @param values the bodies; their keys must be distinct
+	 * @param keyExtractor extracts the key of a body
+	 * @param codec encodes the bodies
+	 */
+	public static <V> void write(Path file, long dataVersion, Collection<? extends V> values,
+			ToLongFunction<? super V> keyExtractor, OffHeapStore.Codec<V> codec) {
+		Objects.requireNonNull(values, "Values can not be null.");
+		Objects.requireNonNull(keyExtractor, "Key extractor can not be null.");
+		Objects.requireNonNull(codec, "Codec can not be null.");
+		List<V> sorted = new ArrayList<>(values);
+		sorted.sort(Comparator.comparingLong(keyExtractor));
+		write(file, dataVersion, (output) -> {
+			for (V value : sorted) {
+				byte[] data = Objects.requireNonNull(codec.encode(value), "Encoded value can not be null.");
+				output.add(keyExtractor.applyAsLong(value), ByteBuffer.wrap(data));
+			}
+		});
+	}
+
+	/**
+	 * Maps a snapshot file and verifies it.
+	 * @param file the snapshot file
+	 * @param codec decodes the bodies; must match the codec they were written with
+	 * @return the snapshot
+	 * @throws IllegalStateException if the file is not a snapshot, has an unsupported
+	 * format version, is truncated or fails its checksum
+	 */
+	public static <V> StoreSnapshot<V> open(Path file, OffHeapStore.Codec<V> codec) {
+		Objects.requireNonNull(file, "File can not be null.");
+		Objects.requireNonNull(codec, "Codec can not be null.");
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if (fileSize < HEADER) {
+				throw new IllegalStateException("Snapshot " + file + " is truncated.");
+			}
+			ByteBuffer header = ByteBuffer.allocate(HEADER);
+			while (header.hasRemaining()) {
+				if (channel.read(header, header.position()) < 0) {
+					throw new IllegalStateException("Snapshot " + file + " is truncated.");
+				}
+			}
+			if (header.getInt(0) != MAGIC) {
+				throw new IllegalStateException(file + " is not a snapshot.");
+			}
+			if (header.getInt(4) != FORMAT_VERSION) {
+				throw new IllegalStateException("Unsupported snapshot format version " + header.getInt(4) + ".");
+			}
+			long count = header.getLong(16);
+			long dataLength = header.getLong(24);
+			int maxLength = header.getInt(32);
+			if (count < 0 || count > Integer.MAX_VALUE || dataLength < 0 || maxLength < 0
+					|| maxLength > Integer.MAX_VALUE - WINDOW - LENGTH
+					|| fileSize != HEADER + dataLength + 16 * count) {
+				throw new IllegalStateException("Snapshot " + file + " is truncated or corrupt.");
+			}
+			ByteBuffer[] windows = new ByteBuffer[(int) ((fileSize + WINDOW - 1) / WINDOW)];
+			CRC32C crc = new CRC32C();
+			for (int i = 0; i < windows.length; i++) {
+				long start = i * WINDOW;
+				windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+						Math.min(fileSize - start, WINDOW + LENGTH + maxLength));
+				int from = i == 0 ? HEADER : 0;
+				int to = (int) (Math.min(fileSize, start + WINDOW) - start);
+				crc.update(windows[i].slice(from, to - from));
+			}
+			crc.update(header.array(), 0, CHECKSUM);
+			if ((int) crc.getValue() != header.getInt(CHECKSUM)) {
+				throw new IllegalStateException("Snapshot " + file + " fails its checksum.");
+			}
+			long keys = HEADER + dataLength;
+			return new StoreSnapshot<>(codec, windows, header.getLong(8), (int) count, keys, keys + 8 * count);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * @return the version of the source data, as given when the snapshot was written
+	 */
+	public long dataVersion() {
+		return dataVersion;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the body stored under {@code key}, decoded into a new object, or null
+	 */
+	public V get(long key) {
+		int index = indexOf(key);
+		return index < 0 ? null : codec.decode(record(index));
+	}
+
+	public boolean containsKey(long key) {
+		return indexOf(key) >= 0;
+	}
+
+	/**
+	 * Decodes every body in ascending key order.
+	 */
+	public void forEach(Consumer<? super V> action) {
+		Objects.requireNonNull(action, "Action can not be null.");
+		for (int i = 0; i < size; i++) {
+			action.accept(codec.decode(record(i)));
+		}
+	}
+
+	/**
+	 * Copies every encoded body into a store without decoding it. The store must use the
+	 * codec the snapshot was written with.
+	 */
+	public void loadInto(OffHeapStore<V> store) {
+		Objects.requireNonNull(store, "Store can not be null.");
+		for (int i = 0; i < size; i++) {
+			store.putEncoded(readLong(keys + 8L * i), record(i));
+		}
+	}
+
+	private int indexOf(long key) {
+		int block = Arrays.binarySearch(fences, key);
+		if (block >= 0) {
+			return block * FENCE_STRIDE;
+		}
+		block = -block - 2;
+		if (block < 0) {
+			return -1;
+		}
+		int low = block * FENCE_STRIDE + 1;
+		int high = Math.min(size, low - 1 + FENCE_STRIDE) - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			long found = readLong(keys + 8L * middle);
+			if (found < key) {
+				low = middle + 1;
+			}
+			else if (found > key) {
+				high = middle - 1;
+			}
+			else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return a read-only view of the encoded body of the {@code index}th key
+	 */
+	private ByteBuffer record(int index) {
+		long position = HEADER + readLong(offsets + 8L * index);
+		ByteBuffer window = windows[(int) (position / WINDOW)];
+		int local = (int) (position % WINDOW);
+		return window.slice(local + LENGTH, window.getInt(local));
+	}
+
+	private long readLong(long position) {
+		return windows[(int) (position / WINDOW)].getLong((int) (position % WINDOW));
+	}
+
+	private static void write(Path file, long dataVersion, Consumer<Output> source) {
+		Objects.requireNonNull(file, "File can not be null.");
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			try (Output output = new Output(temporary)) {
+				source.accept(output);
+				output.finish(dataVersion);
+			}
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			deleteQuietly(temporary);
+			throw new UncheckedIOException(ex);
+		}
+		catch (RuntimeException | Error ex) {
+			deleteQuietly(temporary);
+			throw ex;
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ex) {
+			// The original failure is more useful.
+		}
+	}
+
+	/**
+	 * Writes the sections in file order through a buffer, computing the checksum on the
+	 * way; the header is written last.
+	 */
+	private static final class Output implements AutoCloseable {
+
+		private final FileChannel channel;
+
+		private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+		private final CRC32C crc = new CRC32C();
+
+		private long[] keys = new long[1024];
+
+		private long[] offsets = new long[1024];
+
+		private int count;
+
+		private long dataLength;
+
+		private int maxLength;
+
+		Output(Path file) throws IOException {
+			this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+					StandardOpenOption.WRITE);
+			channel.position(HEADER);
+		}
+
+		/**
+		 * Appends the record of the next key, which must be larger than the previous one.
+		 */
+		void add(long key, ByteBuffer data) {
+			if (count > 0 && key <= keys[count - 1]) {
+				throw new IllegalArgumentException("Duplicate key: " + key);
+			}
+			if (count == keys.length) {
+				keys = Arrays.copyOf(keys, count * 2);
+				offsets = Arrays.copyOf(offsets, count * 2);
+			}
+			int length = data.remaining();
+			keys[count] = key;
+			offsets[count] = dataLength;
+			count++;
+			maxLength = Math.max(maxLength, length);
+			try {
+				ensure(LENGTH);
+				buffer.putInt(length);
+				ByteBuffer source = data.duplicate();
+				while (source.hasRemaining()) {
+					ensure(1);
+					int chunk = Math.min(source.remaining(), buffer.remaining());
+					buffer.put(buffer.position(), source, source.position(), chunk);
+					buffer.position(buffer.position() + chunk);
+					source.position(source.position() + chunk);
+				}
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			dataLength += LENGTH + length;
+		}
+
+		void finish(long dataVersion) throws IOException {
+			int padding = (int) (-dataLength & 7);
+			ensure(padding);
+			buffer.put(new byte[padding]);
+			dataLength += padding;
+			for (int i = 0; i < count; i++) {
+				ensure(8);
+				buffer.putLong(keys[i]);
+			}
+			for (int i = 0; i < count; i++) {
+				ensure(8);
+				buffer.putLong(offsets[i]);
+			}
+			flush();
+			ByteBuffer header = ByteBuffer.allocate(HEADER);
+			header.putInt(0, MAGIC);
+			header.putInt(4, FORMAT_VERSION);
+			header.putLong(8, dataVersion);
+			header.putLong(16, count);
+			header.putLong(24, dataLength);
+			header.putInt(32, maxLength);
+			crc.update(header.array(), 0, CHECKSUM);
+			header.putInt(CHECKSUM, (int) crc.getValue());
+			while (header.hasRemaining()) {
+				channel.write(header, header.position());
+			}
+			channel.force(true);
+		}
+
+		private void ensure(int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+		private void flush() throws IOException {
+			crc.update(buffer.array(), 0, buffer.position());
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,76 @@
+package li.yansan.clean.platform;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.repository.RepositoryRequest;
+import li.yansan.clean.application.repository.StreamingRepository;
+import li.yansan.clean.application.repository.StreamingRepositoryResponse;
+import li.yansan.clean.commons.validation.ValidationSite;
+import li.yansan.clean.commons.validation.Validator;
+
+/**
+ * Streaming counterpart of {@link RepositoryBase} for queries returning large result
+ * sets.
+ *
+ * <p>
+ * The input is converted and validated as in {@link RepositoryBase}, but
+ * {@link #process(Object)} returns a lazy {@link Stream} of database outputs, typically
+ * backed by a cursor (e.g., {@code JdbcTemplate.queryForStream}, JPA
+ * {@code getResultStream} with a fetch size). Each output is converted with
+ * {@link #convertToBody(Object)} and validated only when the caller consumes it, so
+ * memory use does not depend on the size of the result set. Bodies are validated with
+ * {@link Validator#validateTransient(Object, ValidationSite)}, so an open
+ * {@link li.yansan.clean.commons.validation.ValidationContext} does not keep them
+ * reachable either.
+ *
+ * <p>
+ * Resources released by the stream's close handlers are released when the caller closes
+ * the {@link StreamingRepositoryResponse}. If the stream can not be wrapped, it is closed
+ * before the failure is rethrown.
+ *
+ * @param <TI> the type of the database input
+ * @param <TO> the type of each database output
+ * @param <UPayload> the type of the use case payload
+ * @param <UBody> the type of each streamed body
+ */
+public abstract class StreamingRepositoryBase<TI, TO, UPayload, UBody> implements StreamingRepository<UPayload, UBody> {
+
+	public StreamingRepositoryResponse<UBody> send(RepositoryRequest<UPayload> request) {
+		Objects.requireNonNull(request, "RepositoryRequest can not be null.");
+		TI input = convertPayload(request.sender(), request.payload());
+		validate(input);
+		Stream<TO> output = Objects.requireNonNull(process(input), "Stream can not be null.");
+		try {
+			return new StreamingRepositoryResponse<>(output.map(this::toBody));
+		}
+		catch (RuntimeException | Error ex) {
+			output.close();
+			throw ex;
+		}
+	}
+
+	private UBody toBody(TO output) {
+		UBody body = convertToBody(output);
+		Objects.requireNonNull(body, "Body can not be null.");
+		Validator.validateTransient(body, ValidationSite.INTERNAL);
+		return body;
+	}
+
+	protected abstract TI convertPayload(Actor actor, UPayload payload);
+
+	protected void validate(TI input) {
+		Validator.validate(input);
+	}
+
+	/**
+	 * Opens the query.
+	 * @param input the converted and validated input
+	 * @return a lazy stream of outputs that releases its resources when closed
+	 */
+	protected abstract Stream<TO> process(TI input);
+
+	protected abstract UBody convertToBody(TO output);
+
+}
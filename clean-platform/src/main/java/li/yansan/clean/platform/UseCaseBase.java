@@ -68,19 +68,30 @@ import li.yansan.clean.commons.validation.Validator;
 public abstract class UseCaseBase<TI, TO, UPayload, UBody> {
 
 	public TO execute(Principal user, TI input) {
-		Actor actor = convertToActor(user);
-		UPayload payload = convertToPayload(input);
-		UseCase<UPayload, UBody> delegate = getDelegate();
-		if (actor == null || payload == null || delegate == null) {
-			throw new IllegalArgumentException();
+		UseCaseExecutionEvent event = UseCaseExecutionEvent.start();
+		Class<?> useCase = getClass();
+		Actor actor = null;
+		boolean success = false;
+		try {
+			actor = convertToActor(user);
+			UPayload payload = convertToPayload(input);
+			UseCase<UPayload, UBody> delegate = getDelegate();
+			if (actor == null || payload == null || delegate == null) {
+				throw new IllegalArgumentException();
+			}
+			useCase = delegate.getClass();
+			UseCaseResponse<UBody> uRes = delegate.execute(new UseCaseRequest<>(actor, payload));
+			if (uRes == null) {
+				throw new IllegalArgumentException("UseCaseResponse can not be null.");
+			}
+			TO output = convertBody(uRes.body());
+			validate(output);
+			success = true;
+			return output;
 		}
-		UseCaseResponse<UBody> uRes = delegate.execute(new UseCaseRequest<>(actor, payload));
-		if (uRes == null) {
-			throw new IllegalArgumentException("UseCaseResponse can not be null.");
+		finally {
+			event.complete(useCase, actor, success);
 		}
-		TO output = convertBody(uRes.body());
-		validate(output);
-		return output;
 	}
 
 	protected void validate(TO output) {
@@ -0,0 +1,72 @@
+package li.yansan.clean.platform;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import li.yansan.clean.application.Actor;
+
+/**
+ * Flight Recorder event emitted for every use case execution started through
+ * {@link UseCaseExecutor}, {@link ReactiveUseCaseAdapter} or {@link UseCaseBase}.
+ *
+ * <p>
+ * {@link Actor} carries no identity of its own, so the event records the actor's class;
+ * applications tell actors apart by subclassing it.
+ */
+@Name("li.yansan.clean.UseCaseExecution")
+@Label("Use Case Execution")
+@Category({ "Clean Architecture", "Use Case" })
+@Description("An execution of a use case")
+@StackTrace(false)
+final class UseCaseExecutionEvent extends jdk.jfr.Event {
+
+	private static final EventType TYPE = EventType.getEventType(UseCaseExecutionEvent.class);
+
+	/**
+	 * Stands in for the event while no recording has it enabled.
+	 */
+	private static final UseCaseExecutionEvent DISABLED = new UseCaseExecutionEvent();
+
+	@Label("Use Case")
+	Class<?> useCase;
+
+	@Label("Actor Type")
+	Class<?> actorType;
+
+	@Label("Success")
+	boolean success;
+
+	/**
+	 * Begins a new event, or returns a shared no-op one without reading the clock while
+	 * no recording has the event enabled.
+	 */
+	static UseCaseExecutionEvent start() {
+		if (!TYPE.isEnabled()) {
+			return DISABLED;
+		}
+		UseCaseExecutionEvent event = new UseCaseExecutionEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it if it is enabled and above its threshold.
+	 */
+	void complete(Class<?> useCase, Actor actor, boolean success) {
+		if (this == DISABLED) {
+			return;
+		}
+		end();
+		if (shouldCommit()) {
+			this.useCase = useCase;
+			this.actorType = actor == null ? null : actor.getClass();
+			this.success = success;
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+package li.yansan.clean.platform;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.UseCase;
+import li.yansan.clean.application.UseCaseRequest;
+import li.yansan.clean.application.UseCaseResponse;
+import li.yansan.clean.commons.validation.ValidationContext;
+import li.yansan.clean.commons.validation.Validator;
+
+/**
+ * Runs {@link UseCase} executions on virtual threads.
+ *
+ * <p>
+ * Every execution gets its own virtual thread, so use cases that block on several
+ * {@link RepositoryBase} or {@link ClientBase} calls do not need a sized platform thread
+ * pool.
+ *
+ * <p>
+ * <b>Responsibilities:</b>
+ *
+ * <ul>
+ * <li><b>Limit Concurrency:</b> At most {@code maxConcurrency} executions of the same use
+ * case class run at once; further executions wait for a permit on their own virtual
+ * thread.
+ * <li><b>Propagate Context:</b> The request's {@link Actor} is available to adapters
+ * through {@link #currentActor()}, also on threads the execution starts, and a
+ * {@link ValidationContext} is open for the duration of the execution.
+ * <li><b>Enforce Timeouts:</b> {@link #execute(UseCase, UseCaseRequest)} waits at most
+ * {@code timeout}, then interrupts the execution and fails with a
+ * {@link CompletionException} caused by a {@link TimeoutException}.
+ * <li><b>Record Executions:</b> Each execution emits a
+ * {@code li.yansan.clean.UseCaseExecution} Flight Recorder event while a recording
+ * enables it.
+ * </ul>
+ */
+public final class UseCaseExecutor implements AutoCloseable {
+
+	/**
+	 * Inherited by threads started during the execution, such as {@code FanOut} calls and
+	 * the default {@code sendAsync} of the ports.
+	 */
+	private static final InheritableThreadLocal<Actor> ACTOR = new InheritableThreadLocal<>();
+
+	private final ExecutorService executor = Executors
+		.newThreadPerTaskExecutor(Thread.ofVirtual().name("usecase-", 0).factory());
+
+	private final ConcurrentMap<Class<?>, Semaphore> permits = new ConcurrentHashMap<>();
+
+	private final int maxConcurrency;
+
+	private final Duration timeout;
+
+	/**
+	 * @param maxConcurrency the maximum number of concurrent executions per use case
+	 * class; must be positive
+	 * @param timeout the maximum time {@link #execute(UseCase, UseCaseRequest)} waits;
+	 * must be positive
+	 */
+	public UseCaseExecutor(int maxConcurrency, Duration timeout) {
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("Max concurrency must be positive.");
+		}
+		if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+			throw new IllegalArgumentException("Timeout must be positive.");
+		}
+		this.maxConcurrency = maxConcurrency;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Returns the actor of the use case execution running on the current thread, or on
+	 * the thread that started it.
+	 * @return the actor, or empty outside of an execution
+	 */
+	public static Optional<Actor> currentActor() {
+		return Optional.ofNullable(ACTOR.get());
+	}
+
+	/**
+	 * Starts the execution on a new virtual thread.
+	 * @param useCase the use case to execute
+	 * @param request the request to execute it with
+	 * @return the pending response; cancelling it interrupts the execution
+	 */
+	public <UPayload, UBody> Future<UseCaseResponse<UBody>> submit(UseCase<UPayload, UBody> useCase,
+			UseCaseRequest<UPayload> request) {
+		Objects.requireNonNull(useCase, "UseCase can not be null.");
+		Objects.requireNonNull(request, "UseCaseRequest can not be null.");
+		Semaphore semaphore = permits.computeIfAbsent(useCase.getClass(), key -> new Semaphore(maxConcurrency));
+		return executor.submit(() -> run(useCase, request, semaphore));
+	}
+
+	/**
+	 * Executes the use case on a new virtual thread and waits for its response.
+	 * @param useCase the use case to execute
+	 * @param request the request to execute it with
+	 * @return the response of the use case
+	 */
+	public <UPayload, UBody> UseCaseResponse<UBody> execute(UseCase<UPayload, UBody> useCase,
+			UseCaseRequest<UPayload> request) {
+		Future<UseCaseResponse<UBody>> response = submit(useCase, request);
+		try {
+			return response.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			response.cancel(true);
+			throw new CompletionException("UseCase " + useCase.getClass().getName() + " timed out after " + timeout,
+					ex);
+		}
+		catch (InterruptedException ex) {
+			response.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (ex.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw new CompletionException(ex.getCause());
+		}
+	}
+
+	private <UPayload, UBody> UseCaseResponse<UBody> run(UseCase<UPayload, UBody> useCase,
+			UseCaseRequest<UPayload> request, Semaphore semaphore) throws InterruptedException {
+		semaphore.acquire();
+		ACTOR.set(request.actor());
+		UseCaseExecutionEvent event = UseCaseExecutionEvent.start();
+		boolean success = false;
+		try (ValidationContext context = Validator.openContext()) {
+			UseCaseResponse<UBody> response = useCase.execute(request);
+			success = true;
+			return response;
+		}
+		finally {
+			event.complete(useCase.getClass(), request.actor(), success);
+			ACTOR.remove();
+			semaphore.release();
+		}
+	}
+
+	/**
+	 * Stops accepting executions and waits for the running ones to finish.
+	 */
+	@Override
+	public void close() {
+		executor.close();
+	}
+
+}
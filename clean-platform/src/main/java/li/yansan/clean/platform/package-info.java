@@ -113,6 +113,23 @@
  * }
  * }</pre>
  *
+ * <p>
+ * Queries returning large result sets should extend {@link StreamingRepositoryBase}
+ * instead: {@code process} returns a lazy {@code Stream} (for example from
+ * {@code getResultStream()}) and each row is converted and validated as the caller
+ * consumes the closeable
+ * {@link li.yansan.clean.application.repository.StreamingRepositoryResponse
+ * StreamingRepositoryResponse}.
+ *
+ * <p>
+ * Read-heavy reference data and in-memory repositories for tests can be served from an
+ * {@link InMemoryStore} in {@code process}: a concurrent primary-key map with striped
+ * write locks, hash and sorted secondary indexes, and consistent snapshots. Tables too
+ * large for the heap can use {@link OffHeapStore}, which keeps bodies serialized in
+ * direct buffers behind a primitive {@code long} key index. Either can be saved to a
+ * versioned, checksummed {@link StoreSnapshot}, which a restarted node maps and serves
+ * from at once instead of reloading the data through {@code process}.
+ *
  * <h3>3. {@link MessengerBase} - Asynchronous Messaging</h3>
  *
  * <p>
@@ -155,6 +172,26 @@
  * }
  * }</pre>
  *
+ * <p>
+ * Drivers that already return futures (such as {@code KafkaTemplate}) should not block on
+ * {@code get()}. Extend {@link AsyncMessengerBase} instead and return the future from
+ * {@code process}; the rest of the pipeline is composed onto it. {@link AsyncClientBase}
+ * and {@link AsyncRepositoryBase} do the same for clients and repositories, and back the
+ * {@code sendAsync} methods of the application ports.
+ *
+ * <p>
+ * Messages that never leave the JVM, such as domain events consumed by other use cases,
+ * can go through {@link EventBusMessenger} instead of a broker: a lock-free ring buffer
+ * hands each payload to every subscriber on its own thread, which also makes it a fast
+ * stand-in for a broker in tests.
+ *
+ * <p>
+ * For {@link java.util.concurrent.Flow} pipelines, {@link ReactiveClientBase},
+ * {@link ReactiveRepositoryBase} and {@link ReactiveMessengerBase} run the same template
+ * methods once per published request, and {@link ReactiveUseCaseAdapter} does the same
+ * for a blocking use case. They run on a virtual thread per subscription and pull one
+ * request from the source per unit of demand, so backpressure reaches the message source.
+ *
  * <h3>4. {@link UseCaseBase} - Delivery Mechanism</h3>
  *
  * <p>
@@ -281,6 +318,19 @@
  * }
  * }</pre>
  *
+ * <h3>Instrumentation</h3>
+ *
+ * <p>
+ * The {@code send} template methods time each {@link AdapterStage} (convert payload,
+ * validate, process, convert to body) and report it, tagged by adapter class, to the
+ * {@link AdapterMetrics} sink installed with {@link Instrumentation#install}. This tells
+ * whether a slow call is spent in mapping, validation or the external system:
+ *
+ * <pre>{@code
+ * InMemoryAdapterMetrics metrics = new InMemoryAdapterMetrics();
+ * Instrumentation.install(metrics);
+ * }</pre>
+ *
  * <h3>Separation of Concerns</h3>
  *
  * <table border="1">
@@ -0,0 +1,76 @@
+package li.yansan.clean.platform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.client.ClientRequest;
+import org.junit.jupiter.api.Test;
+
+class AsyncClientBaseTest {
+
+	private final ClientRequest<String> request = new ClientRequest<>(new Actor(), "payload");
+
+	@Test
+	void composesTheProcessedStage() {
+		TestClient client = new TestClient(CompletableFuture::completedFuture);
+		assertEquals("PAYLOAD", client.sendAsync(request).toCompletableFuture().join().body());
+	}
+
+	@Test
+	void processFailuresCompleteTheStageExceptionally() {
+		IllegalStateException failure = new IllegalStateException("Driver failed.");
+		TestClient client = new TestClient((input) -> {
+			throw failure;
+		});
+		ExecutionException ex = assertThrows(ExecutionException.class,
+				() -> client.sendAsync(request).toCompletableFuture().get());
+		assertSame(failure, ex.getCause());
+		assertSame(failure, assertThrows(IllegalStateException.class, () -> client.send(request)));
+	}
+
+	@Test
+	void nullStagesCompleteTheStageExceptionally() {
+		TestClient client = new TestClient((input) -> null);
+		ExecutionException ex = assertThrows(ExecutionException.class,
+				() -> client.sendAsync(request).toCompletableFuture().get());
+		assertInstanceOf(NullPointerException.class, ex.getCause());
+	}
+
+	private static final class TestClient extends AsyncClientBase<String, String, String, String> {
+
+		private final Function<String, CompletionStage<String>> process;
+
+		TestClient(Function<String, CompletionStage<String>> process) {
+			this.process = process;
+		}
+
+		@Override
+		protected String convertPayload(Actor actor, String payload) {
+			return payload.toUpperCase();
+		}
+
+		@Override
+		protected void validate(String input) {
+		}
+
+		@Override
+		protected CompletionStage<String> process(String input) {
+			return process.apply(input);
+		}
+
+		@Override
+		protected String convertToBody(String output) {
+			return output;
+		}
+
+	}
+
+}
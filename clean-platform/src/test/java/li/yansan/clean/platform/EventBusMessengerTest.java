@@ -0,0 +1,106 @@
+package li.yansan.clean.platform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.messaging.MessengerRequest;
+import li.yansan.clean.platform.EventBusMessenger.WaitStrategy;
+import org.junit.jupiter.api.Test;
+
+class EventBusMessengerTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+	private final Actor actor = new Actor();
+
+	private final List<Throwable> reported = new CopyOnWriteArrayList<>();
+
+	private final ThreadFactory threads = Thread.ofPlatform()
+		.daemon()
+		.uncaughtExceptionHandler((thread, ex) -> reported.add(ex))
+		.factory();
+
+	@Test
+	void deliversEveryPayloadInOrderToEverySubscriber() throws Exception {
+		EventBusMessenger<Event> bus = new EventBusMessenger<>(64, WaitStrategy.YIELD, threads);
+		List<List<Event>> received = List.of(new ArrayList<>(), new ArrayList<>());
+		for (List<Event> events : received) {
+			bus.subscribe(events::add);
+		}
+		List<Thread> senders = new ArrayList<>();
+		for (int sender = 0; sender < 4; sender++) {
+			int id = sender;
+			senders.add(Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					bus.send(new MessengerRequest<>(actor, new Event(id, i)));
+				}
+			}));
+		}
+		for (Thread sender : senders) {
+			sender.join();
+		}
+		bus.close();
+		for (List<Event> events : received) {
+			assertEquals(40_000, events.size());
+			int[] next = new int[4];
+			for (Event event : events) {
+				assertEquals(next[event.sender()]++, event.number());
+			}
+		}
+		assertThrows(IllegalStateException.class, () -> bus.send(new MessengerRequest<>(actor, new Event(0, 0))));
+	}
+
+	@Test
+	void subscriberErrorsAreReportedWithoutStallingSenders() {
+		EventBusMessenger<Event> bus = new EventBusMessenger<>(4, WaitStrategy.PARK, threads);
+		AtomicInteger delivered = new AtomicInteger();
+		bus.subscribe((event) -> {
+			throw new AssertionError("Subscriber failed on " + event);
+		});
+		bus.subscribe((event) -> delivered.incrementAndGet());
+		for (int i = 0; i < 100; i++) {
+			bus.send(new MessengerRequest<>(actor, new Event(0, i)));
+		}
+		bus.close();
+		assertEquals(100, delivered.get());
+		assertEquals(100, reported.size());
+		assertTrue(reported.stream().allMatch(AssertionError.class::isInstance));
+	}
+
+	@Test
+	void doesNotRetainDeliveredPayloads() throws Exception {
+		EventBusMessenger<Event> bus = new EventBusMessenger<>(64, WaitStrategy.PARK, threads);
+		bus.subscribe((event) -> {
+		});
+		bus.subscribe((event) -> {
+		});
+		WeakReference<Event> sent = send(bus, new Event(0, 0));
+		assertTrue(bus.awaitConsumed(TIMEOUT));
+		for (int i = 0; i < 10 && sent.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(sent.get());
+		bus.close();
+	}
+
+	private WeakReference<Event> send(EventBusMessenger<Event> bus, Event event) {
+		bus.send(new MessengerRequest<>(actor, event));
+		return new WeakReference<>(event);
+	}
+
+	record Event(int sender, int number) {
+	}
+
+}
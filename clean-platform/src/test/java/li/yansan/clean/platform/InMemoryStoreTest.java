@@ -0,0 +1,54 @@
+package li.yansan.clean.platform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class InMemoryStoreTest {
+
+	private final InMemoryStore<String, Product> store = new InMemoryStore<>(Product::code);
+
+	@Test
+	void sortedIndexMatchesValuesEqualByCompareTo() {
+		store.sortedIndex("price", Product::price);
+		store.putAll(List.of(new Product("a", "tools", new BigDecimal("1.0")),
+				new Product("b", "tools", new BigDecimal("1.00")), new Product("c", "toys", new BigDecimal("2"))));
+		assertEquals(List.of("a", "b"), codes(store.findBy("price", new BigDecimal("1"))));
+		assertEquals(List.of("a", "b"),
+				codes(store.findBetween("price", new BigDecimal("1.000"), new BigDecimal("1.5"))));
+		assertEquals(List.of("a", "b", "c"), codes(store.findBetween("price", null, null)));
+	}
+
+	@Test
+	void indexesFollowReplacedAndRemovedBodies() {
+		store.hashIndex("category", Product::category);
+		store.sortedIndex("price", Product::price);
+		store.put(new Product("a", "tools", BigDecimal.ONE));
+		store.put(new Product("a", "toys", BigDecimal.TEN));
+		store.put(new Product("b", "toys", BigDecimal.ONE));
+		assertEquals(List.of(), store.findBy("category", "tools"));
+		assertEquals(List.of("a", "b"), codes(store.findBy("category", "toys")));
+		assertEquals(List.of("b"), codes(store.findBy("price", BigDecimal.ONE)));
+		store.remove("b");
+		assertEquals(List.of("a"), codes(store.findBetween("price", null, null)));
+	}
+
+	@Test
+	void rejectsRangeQueriesOnHashIndexes() {
+		store.hashIndex("category", Product::category);
+		assertThrows(IllegalArgumentException.class, () -> store.findBetween("category", "a", "z"));
+		assertThrows(IllegalArgumentException.class, () -> store.findBy("missing", "a"));
+	}
+
+	private static List<String> codes(List<Product> products) {
+		return products.stream().map(Product::code).sorted().toList();
+	}
+
+	record Product(String code, String category, BigDecimal price) {
+	}
+
+}
@@ -0,0 +1,258 @@
+package li.yansan.clean.platform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.messaging.MessengerRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OutboxMessengerBaseTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+	private final Actor actor = new Actor();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void rejectsEmptySerializedInputWithoutLosingLaterRecords() throws Exception {
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.send(new MessengerRequest<>(actor, "a"));
+			assertThrows(IllegalArgumentException.class, () -> outbox.send(new MessengerRequest<>(actor, "")));
+			outbox.send(new MessengerRequest<>(actor, "b"));
+			assertTrue(outbox.awaitRelayed(TIMEOUT));
+			assertEquals(List.of("a", "b"), outbox.published);
+		}
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.send(new MessengerRequest<>(actor, "c"));
+			assertTrue(outbox.awaitRelayed(TIMEOUT));
+			assertEquals(List.of("c"), outbox.published);
+		}
+	}
+
+	@Test
+	void relaysEveryRecordWhileBatchesFail() throws Exception {
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.failEvery = 7;
+			try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+				for (int sender = 0; sender < 4; sender++) {
+					int id = sender;
+					senders.submit(() -> {
+						for (int i = 0; i < 500; i++) {
+							outbox.send(new MessengerRequest<>(actor, "m-" + id + "-" + i));
+						}
+						return null;
+					});
+				}
+			}
+			assertTrue(outbox.awaitRelayed(TIMEOUT));
+			assertEquals(2000, new LinkedHashSet<>(outbox.published).size());
+		}
+	}
+
+	@Test
+	void skipsPoisonRecordsAfterIsolatingThem() throws Exception {
+		List<String> expected = new ArrayList<>();
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.skipAfter = 2;
+			for (int i = 0; i < 200; i++) {
+				String payload = (i == 50) ? TestOutbox.UNREADABLE : (i == 120) ? TestOutbox.FATAL : "m-" + i;
+				outbox.send(new MessengerRequest<>(actor, payload));
+				if (i != 50 && i != 120) {
+					expected.add(payload);
+				}
+			}
+			assertTrue(outbox.awaitRelayed(TIMEOUT));
+			assertEquals(expected, List.copyOf(new LinkedHashSet<>(outbox.published)));
+			assertEquals(
+					List.of(TestOutbox.UNREADABLE + "#1:IllegalArgumentException",
+							TestOutbox.UNREADABLE + "#2:IllegalArgumentException",
+							TestOutbox.FATAL + "#1:AssertionError", TestOutbox.FATAL + "#2:AssertionError"),
+					outbox.failed);
+		}
+	}
+
+	@Test
+	void retriesFailedRecordsByDefault() throws Exception {
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.send(new MessengerRequest<>(actor, "a"));
+			outbox.send(new MessengerRequest<>(actor, TestOutbox.FATAL));
+			assertFalse(outbox.awaitRelayed(Duration.ofMillis(200)));
+			assertTrue(outbox.published.contains("a"));
+		}
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.skipAfter = 1;
+			outbox.start();
+			assertTrue(outbox.awaitRelayed(TIMEOUT));
+			assertEquals(List.of(TestOutbox.FATAL + "#1:AssertionError"), outbox.failed);
+		}
+	}
+
+	@Test
+	void recoversDurableRecordsAfterTornWrite() throws Exception {
+		long end;
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.failEvery = 1;
+			for (int i = 0; i < 300; i++) {
+				outbox.send(new MessengerRequest<>(actor, "r-" + i));
+			}
+			end = outbox.durablePosition();
+		}
+		Path last = segments().getLast();
+		long base = Long.parseLong(last.getFileName().toString().replace(".log", ""));
+		ByteBuffer torn = ByteBuffer.allocate(20).putInt(12).putInt(99).put("garbage".getBytes(StandardCharsets.UTF_8));
+		write(last, end - base, torn.flip());
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			assertEquals(end, outbox.durablePosition());
+			assertEquals(0, outbox.relayedPosition());
+			outbox.start();
+			assertTrue(outbox.awaitRelayed(TIMEOUT));
+			assertEquals(300, new LinkedHashSet<>(outbox.published).size());
+			outbox.send(new MessengerRequest<>(actor, "after"));
+			assertTrue(outbox.awaitRelayed(TIMEOUT));
+			assertTrue(outbox.published.contains("after"));
+		}
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.start();
+			assertTrue(outbox.awaitRelayed(TIMEOUT));
+			assertEquals(List.of(), outbox.published);
+		}
+	}
+
+	@Test
+	void truncatesLogAtCorruptRecord() throws Exception {
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.failEvery = 1;
+			for (int i = 0; i < 100; i++) {
+				outbox.send(new MessengerRequest<>(actor, "c-" + i));
+			}
+		}
+		int index = 0;
+		for (int i = 0; i < 60; i++) {
+			index += 8 + ("c-" + i).length();
+		}
+		write(segments().getFirst(), index + 9, ByteBuffer.wrap(new byte[] { '#' }));
+		try (TestOutbox outbox = new TestOutbox(directory)) {
+			outbox.start();
+			assertTrue(outbox.awaitRelayed(TIMEOUT));
+			assertEquals(60, outbox.published.size());
+			assertEquals("c-59", outbox.published.getLast());
+		}
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter((file) -> file.toString().endsWith(".log")).sorted().toList();
+		}
+	}
+
+	private static void write(Path segment, long position, ByteBuffer bytes) throws IOException {
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.write(bytes, position);
+		}
+	}
+
+	private static final class TestOutbox extends OutboxMessengerBase<String, String, String, Long> {
+
+		static final String UNREADABLE = "unreadable";
+
+		static final String FATAL = "fatal";
+
+		final List<String> published = new CopyOnWriteArrayList<>();
+
+		final List<String> failed = new CopyOnWriteArrayList<>();
+
+		final AtomicInteger batches = new AtomicInteger();
+
+		/**
+		 * Fails every n-th batch; 1 fails them all, 0 none.
+		 */
+		volatile int failEvery;
+
+		/**
+		 * Skips a failed record after this many attempts; 0 retries it for ever.
+		 */
+		volatile int skipAfter;
+
+		TestOutbox(Path directory) {
+			super(directory, 4096, 50, Duration.ofMillis(5));
+		}
+
+		@Override
+		protected String convertPayload(Actor actor, String payload) {
+			return payload;
+		}
+
+		@Override
+		protected void validate(String input) {
+		}
+
+		@Override
+		protected byte[] serialize(String input) {
+			return input.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		protected String deserialize(byte[] data) {
+			String input = new String(data, StandardCharsets.UTF_8);
+			if (input.equals(UNREADABLE)) {
+				throw new IllegalArgumentException("Unreadable record.");
+			}
+			return input;
+		}
+
+		@Override
+		protected Long acknowledge(String input, long position) {
+			return position;
+		}
+
+		@Override
+		protected String process(String input) {
+			if (input.equals(FATAL)) {
+				throw new AssertionError("Fatal record.");
+			}
+			published.add(input);
+			return input;
+		}
+
+		@Override
+		protected List<String> processBatch(List<String> inputs) {
+			int every = failEvery;
+			if (every > 0 && batches.incrementAndGet() % every == 0) {
+				throw new IllegalStateException("Broker unavailable.");
+			}
+			return super.processBatch(inputs);
+		}
+
+		@Override
+		protected boolean skipFailedRecord(byte[] data, long position, Throwable failure, int attempts) {
+			failed.add(new String(data, StandardCharsets.UTF_8) + "#" + attempts + ":"
+					+ failure.getClass().getSimpleName());
+			return skipAfter > 0 && attempts >= skipAfter;
+		}
+
+	}
+
+}
@@ -0,0 +1,174 @@
+package li.yansan.clean.platform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.UseCaseRequest;
+import li.yansan.clean.application.UseCaseResponse;
+import org.junit.jupiter.api.Test;
+
+class ReactiveUseCaseAdapterTest {
+
+	private final Actor actor = new Actor();
+
+	@Test
+	void executesRequestsInOrderOnAVirtualWorker() throws Exception {
+		List<Thread> executing = new CopyOnWriteArrayList<>();
+		ReactiveUseCaseAdapter<Integer, Integer> adapter = new ReactiveUseCaseAdapter<>((request) -> {
+			executing.add(Thread.currentThread());
+			return new UseCaseResponse<>(request.payload());
+		});
+		Recorder<Integer> recorder = new Recorder<>();
+		try (SubmissionPublisher<UseCaseRequest<Integer>> source = new SubmissionPublisher<>()) {
+			adapter.execute(source).subscribe(recorder);
+			recorder.request(Long.MAX_VALUE);
+			for (int i = 0; i < 100; i++) {
+				source.submit(new UseCaseRequest<>(actor, i));
+			}
+		}
+		assertTrue(recorder.completed.await(5, TimeUnit.SECONDS));
+		assertEquals(IntStream.range(0, 100).boxed().toList(), recorder.items);
+		assertEquals(1, executing.stream().distinct().count());
+		assertTrue(executing.get(0).isVirtual());
+		assertTrue(executing.get(0).getName().endsWith("-reactive"));
+	}
+
+	@Test
+	void pullsOneRequestPerUnitOfDemand() throws Exception {
+		AtomicInteger executions = new AtomicInteger();
+		ReactiveUseCaseAdapter<Integer, Integer> adapter = new ReactiveUseCaseAdapter<>((request) -> {
+			executions.incrementAndGet();
+			return new UseCaseResponse<>(request.payload());
+		});
+		Recorder<Integer> recorder = new Recorder<>();
+		try (SubmissionPublisher<UseCaseRequest<Integer>> source = new SubmissionPublisher<>()) {
+			adapter.execute(source).subscribe(recorder);
+			for (int i = 0; i < 10; i++) {
+				source.submit(new UseCaseRequest<>(actor, i));
+			}
+			Thread.sleep(100);
+			assertEquals(0, executions.get());
+			recorder.request(3);
+			recorder.awaitItems(3);
+			Thread.sleep(100);
+			assertEquals(3, executions.get());
+			recorder.request(7);
+			recorder.awaitItems(10);
+		}
+		assertTrue(recorder.completed.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), recorder.items);
+	}
+
+	@Test
+	void failingExecutionCancelsTheSource() throws Exception {
+		ReactiveUseCaseAdapter<Integer, Integer> adapter = new ReactiveUseCaseAdapter<>((request) -> {
+			if (request.payload() == 2) {
+				throw new IllegalStateException("Failed on 2.");
+			}
+			return new UseCaseResponse<>(request.payload());
+		});
+		Recorder<Integer> recorder = new Recorder<>();
+		try (SubmissionPublisher<UseCaseRequest<Integer>> source = new SubmissionPublisher<>()) {
+			adapter.execute(source).subscribe(recorder);
+			recorder.request(Long.MAX_VALUE);
+			for (int i = 0; i < 5; i++) {
+				source.submit(new UseCaseRequest<>(actor, i));
+			}
+			assertTrue(recorder.completed.await(5, TimeUnit.SECONDS));
+			assertInstanceOf(IllegalStateException.class, recorder.failure);
+			assertEquals(List.of(0, 1), recorder.items);
+			for (int i = 0; i < 50 && source.hasSubscribers(); i++) {
+				Thread.sleep(10);
+			}
+			assertFalse(source.hasSubscribers());
+		}
+	}
+
+	@Test
+	void cancellingInterruptsTheRunningExecution() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		ReactiveUseCaseAdapter<Integer, Integer> adapter = new ReactiveUseCaseAdapter<>((request) -> {
+			started.countDown();
+			try {
+				Thread.sleep(10_000);
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+			}
+			return new UseCaseResponse<>(request.payload());
+		});
+		Recorder<Integer> recorder = new Recorder<>();
+		try (SubmissionPublisher<UseCaseRequest<Integer>> source = new SubmissionPublisher<>()) {
+			adapter.execute(source).subscribe(recorder);
+			recorder.request(1);
+			source.submit(new UseCaseRequest<>(actor, 1));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			recorder.subscription.cancel();
+			assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		}
+		Thread.sleep(50);
+		assertEquals(List.of(), recorder.items);
+	}
+
+	private static final class Recorder<T> implements Flow.Subscriber<UseCaseResponse<T>> {
+
+		final List<T> items = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch completed = new CountDownLatch(1);
+
+		final CountDownLatch subscribed = new CountDownLatch(1);
+
+		volatile Flow.Subscription subscription;
+
+		volatile Throwable failure;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscribed.countDown();
+		}
+
+		@Override
+		public void onNext(UseCaseResponse<T> item) {
+			items.add(item.body());
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			failure = throwable;
+			completed.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			completed.countDown();
+		}
+
+		void request(long n) throws InterruptedException {
+			assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+			subscription.request(n);
+		}
+
+		void awaitItems(int count) throws InterruptedException {
+			for (int i = 0; i < 500 && items.size() < count; i++) {
+				Thread.sleep(10);
+			}
+			assertEquals(count, items.size());
+		}
+
+	}
+
+}
@@ -0,0 +1,112 @@
+package li.yansan.clean.platform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.repository.RepositoryRequest;
+import li.yansan.clean.application.repository.RepositoryResult;
+import org.junit.jupiter.api.Test;
+
+class RepositoryBaseTest {
+
+	private final Actor actor = new Actor();
+
+	@Test
+	void defaultProcessBatchReportsFailuresPerInput() {
+		TestRepository repository = new TestRepository();
+		List<RepositoryResult<String>> results = repository.sendAll(requests(1, -2, 3, -4));
+		assertEquals(List.of("ok 1", "IllegalArgumentException", "ok 3", "IllegalArgumentException"),
+				describe(results));
+		assertEquals(List.of(1, 3), repository.written);
+	}
+
+	@Test
+	void chunkingOverrideKeepsOutcomesOfWrittenInputs() {
+		TestRepository repository = new TestRepository() {
+			@Override
+			protected List<BatchOutcome<Integer>> processBatch(List<Integer> inputs) {
+				List<BatchOutcome<Integer>> outcomes = new ArrayList<>(inputs.size());
+				for (int from = 0; from < inputs.size(); from += 2) {
+					outcomes.addAll(super.processBatch(inputs.subList(from, Math.min(from + 2, inputs.size()))));
+				}
+				return outcomes;
+			}
+		};
+		List<RepositoryResult<String>> results = repository.sendAll(requests(1, 2, -3, 4, 5));
+		assertEquals(List.of("ok 1", "ok 2", "IllegalArgumentException", "ok 4", "ok 5"), describe(results));
+		assertEquals(List.of(1, 2, 4, 5), repository.written);
+	}
+
+	@Test
+	void failureThrownByOverrideIsReportedForEveryInput() {
+		IllegalStateException failure = new IllegalStateException("Transaction rolled back.");
+		TestRepository repository = new TestRepository() {
+			@Override
+			protected List<BatchOutcome<Integer>> processBatch(List<Integer> inputs) {
+				throw failure;
+			}
+		};
+		List<RepositoryResult<String>> results = repository.sendAll(requests(1, 2));
+		assertSame(failure, results.get(0).failure());
+		assertSame(failure, results.get(1).failure());
+	}
+
+	@Test
+	void conversionFailuresAreReportedPerRequest() {
+		TestRepository repository = new TestRepository();
+		List<RepositoryResult<String>> results = repository.sendAll(requests(1, 0, 2));
+		assertEquals(List.of("ok 1", "ArithmeticException", "ok 2"), describe(results));
+	}
+
+	private List<RepositoryRequest<Integer>> requests(int... payloads) {
+		List<RepositoryRequest<Integer>> requests = new ArrayList<>();
+		for (int payload : payloads) {
+			requests.add(new RepositoryRequest<>(actor, payload));
+		}
+		return requests;
+	}
+
+	private static List<String> describe(List<RepositoryResult<String>> results) {
+		return results.stream()
+			.map((result) -> result.isSuccess() ? result.response().body()
+					: result.failure().getClass().getSimpleName())
+			.toList();
+	}
+
+	/**
+	 * Writes positive inputs and fails on negative ones; a zero payload fails conversion.
+	 */
+	private static class TestRepository extends RepositoryBase<Integer, Integer, Integer, String> {
+
+		final List<Integer> written = new ArrayList<>();
+
+		@Override
+		protected Integer convertPayload(Actor actor, Integer payload) {
+			return payload / payload * payload;
+		}
+
+		@Override
+		protected void validate(Integer input) {
+		}
+
+		@Override
+		protected Integer process(Integer input) {
+			if (input < 0) {
+				throw new IllegalArgumentException("Negative input.");
+			}
+			written.add(input);
+			return input;
+		}
+
+		@Override
+		protected String convertToBody(Integer output) {
+			return "ok " + output;
+		}
+
+	}
+
+}
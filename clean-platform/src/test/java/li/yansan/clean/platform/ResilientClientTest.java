@@ -0,0 +1,141 @@
+package li.yansan.clean.platform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.client.Client;
+import li.yansan.clean.application.client.ClientRequest;
+import li.yansan.clean.platform.ResilientClient.CircuitState;
+import li.yansan.clean.platform.ResilientClient.Settings;
+import org.junit.jupiter.api.Test;
+
+class ResilientClientTest {
+
+	private static final IllegalStateException UNAVAILABLE = new IllegalStateException("503 Service Unavailable");
+
+	private final Actor actor = new Actor();
+
+	private final FakeClient<String, String> fake = new FakeClient<>((payload) -> "re: " + payload);
+
+	@Test
+	void opensCircuitAfterConsecutiveFailures() {
+		ResilientClient<String, String> client = new ResilientClient<>(fake, settings(1, 3, Duration.ofMinutes(1)));
+		fake.setFailure(UNAVAILABLE);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(CircuitState.CLOSED, client.circuitState());
+			assertThrows(IllegalStateException.class, () -> client.send(request("a")));
+		}
+		assertEquals(CircuitState.OPEN, client.circuitState());
+		assertThrows(RejectedExecutionException.class, () -> client.send(request("a")));
+		assertEquals(3, fake.calls());
+	}
+
+	@Test
+	void successResetsConsecutiveFailures() {
+		ResilientClient<String, String> client = new ResilientClient<>(fake, settings(1, 2, Duration.ofMinutes(1)));
+		fake.setFailure(UNAVAILABLE);
+		assertThrows(IllegalStateException.class, () -> client.send(request("a")));
+		fake.setFailure(null);
+		assertEquals("re: b", client.send(request("b")).body());
+		fake.setFailure(UNAVAILABLE);
+		assertThrows(IllegalStateException.class, () -> client.send(request("c")));
+		assertEquals(CircuitState.CLOSED, client.circuitState());
+	}
+
+	@Test
+	void halfOpenProbeClosesOrReopensCircuit() throws InterruptedException {
+		ResilientClient<String, String> client = new ResilientClient<>(fake, settings(1, 1, Duration.ofMillis(50)));
+		fake.setFailure(UNAVAILABLE);
+		assertThrows(IllegalStateException.class, () -> client.send(request("a")));
+		Thread.sleep(60);
+		assertThrows(IllegalStateException.class, () -> client.send(request("probe")));
+		assertEquals(CircuitState.OPEN, client.circuitState());
+		assertThrows(RejectedExecutionException.class, () -> client.send(request("b")));
+		Thread.sleep(60);
+		fake.setFailure(null);
+		assertEquals("re: probe", client.send(request("probe")).body());
+		assertEquals(CircuitState.CLOSED, client.circuitState());
+		assertEquals("re: c", client.send(request("c")).body());
+	}
+
+	@Test
+	void lateFailuresDoNotDelayTheProbe() throws Exception {
+		CountDownLatch opened = new CountDownLatch(1);
+		Client<String, String> delegate = (request) -> {
+			if (request.payload().equals("late")) {
+				awaitQuietly(opened);
+				sleepQuietly(150);
+			}
+			throw UNAVAILABLE;
+		};
+		ResilientClient<String, String> client = new ResilientClient<>(delegate,
+				settings(2, 1, Duration.ofMillis(200)));
+		Thread late = Thread.ofVirtual()
+			.start(() -> assertThrows(RuntimeException.class, () -> client.send(request("late"))));
+		Thread.sleep(20);
+		long openedAt = System.nanoTime();
+		assertThrows(IllegalStateException.class, () -> client.send(request("early")));
+		opened.countDown();
+		late.join();
+		assertEquals(CircuitState.OPEN, client.circuitState());
+		Thread.sleep(Math.max(0, 250 - Duration.ofNanos(System.nanoTime() - openedAt).toMillis()));
+		// The probe is admitted openDuration after the circuit opened, and fails again.
+		assertThrows(IllegalStateException.class, () -> client.send(request("probe")));
+	}
+
+	@Test
+	void rejectsCallsBeyondTheBulkhead() throws Exception {
+		ResilientClient<String, String> client = new ResilientClient<>(fake, settings(1, 5, Duration.ofMinutes(1)));
+		fake.setLatency(Duration.ofMillis(200));
+		Thread running = Thread.ofVirtual().start(() -> client.send(request("a")));
+		Thread.sleep(50);
+		assertThrows(RejectedExecutionException.class, () -> client.send(request("b")));
+		running.join();
+		fake.setLatency(Duration.ZERO);
+		assertEquals("re: c", client.send(request("c")).body());
+	}
+
+	@Test
+	void abandonsCallsAtTheDeadline() {
+		Settings settings = new Settings(1, Duration.ofMillis(50), 5, Duration.ofMinutes(1), 0);
+		ResilientClient<String, String> client = new ResilientClient<>(fake, settings);
+		fake.setLatency(Duration.ofSeconds(5));
+		CompletionException ex = assertThrows(CompletionException.class, () -> client.send(request("a")));
+		assertInstanceOf(TimeoutException.class, ex.getCause());
+	}
+
+	private ClientRequest<String> request(String payload) {
+		return new ClientRequest<>(actor, payload);
+	}
+
+	private static Settings settings(int maxConcurrentCalls, int failureThreshold, Duration openDuration) {
+		return new Settings(maxConcurrentCalls, Duration.ofSeconds(2), failureThreshold, openDuration, 0);
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+package li.yansan.clean.platform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import li.yansan.clean.application.Actor;
+import li.yansan.clean.application.FanOut;
+import li.yansan.clean.application.UseCase;
+import li.yansan.clean.application.UseCaseRequest;
+import li.yansan.clean.application.UseCaseResponse;
+import li.yansan.clean.application.client.ClientRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class UseCaseExecutorTest {
+
+	private final Actor actor = new Actor();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void currentActorIsVisibleOnThreadsStartedByTheExecution() {
+		FakeClient<String, Optional<Actor>> client = new FakeClient<>((payload) -> UseCaseExecutor.currentActor());
+		try (UseCaseExecutor executor = new UseCaseExecutor(4, Duration.ofSeconds(5))) {
+			UseCaseResponse<List<Optional<Actor>>> response = executor.execute((request) -> {
+				FanOut.Tuple2<Optional<Actor>, Optional<Actor>> fanned = FanOut.join(UseCaseExecutor::currentActor,
+						UseCaseExecutor::currentActor);
+				Optional<Actor> async = client.sendAsync(new ClientRequest<>(request.actor(), "a"))
+					.toCompletableFuture()
+					.join()
+					.body();
+				return new UseCaseResponse<>(
+						List.of(UseCaseExecutor.currentActor(), fanned.first(), fanned.second(), async));
+			}, new UseCaseRequest<>(actor, "payload"));
+			for (Optional<Actor> current : response.body()) {
+				assertSame(actor, current.orElseThrow());
+			}
+		}
+		assertEquals(Optional.empty(), UseCaseExecutor.currentActor());
+	}
+
+	@Test
+	void executionsDoNotSeeTheActorOfTheirSubmitter() {
+		Actor other = new Actor();
+		try (UseCaseExecutor executor = new UseCaseExecutor(4, Duration.ofSeconds(5))) {
+			UseCase<String, Actor> inner = (request) -> new UseCaseResponse<>(
+					UseCaseExecutor.currentActor().orElseThrow());
+			UseCase<String, Actor> outer = (request) -> executor.execute(inner, new UseCaseRequest<>(other, "inner"));
+			assertSame(other, executor.execute(outer, new UseCaseRequest<>(actor, "outer")).body());
+		}
+	}
+
+	@Test
+	void failsExecutionsThatExceedTheTimeout() {
+		try (UseCaseExecutor executor = new UseCaseExecutor(1, Duration.ofMillis(50))) {
+			CompletionException ex = assertThrows(CompletionException.class, () -> executor.execute((request) -> {
+				try {
+					Thread.sleep(5_000);
+				}
+				catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+				}
+				return new UseCaseResponse<>("late");
+			}, new UseCaseRequest<>(actor, "payload")));
+			assertInstanceOf(TimeoutException.class, ex.getCause());
+		}
+	}
+
+	@Test
+	void recordsExecutionsWhileARecordingIsEnabled() throws Exception {
+		Actor customer = new Actor() {
+		};
+		Path file = directory.resolve("executions.jfr");
+		try (UseCaseExecutor executor = new UseCaseExecutor(1, Duration.ofSeconds(5))) {
+			executor.execute((request) -> new UseCaseResponse<>("unrecorded"), new UseCaseRequest<>(actor, "payload"));
+			try (Recording recording = new Recording()) {
+				recording.enable("li.yansan.clean.UseCaseExecution").withoutThreshold();
+				recording.start();
+				executor.execute((request) -> new UseCaseResponse<>("recorded"),
+						new UseCaseRequest<>(customer, "payload"));
+				recording.stop();
+				recording.dump(file);
+			}
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file)
+			.stream()
+			.filter((event) -> event.getEventType().getName().equals("li.yansan.clean.UseCaseExecution"))
+			.toList();
+		assertEquals(1, events.size());
+		assertEquals(customer.getClass().getName(), events.get(0).getClass("actorType").getName());
+		assertTrue(events.get(0).getBoolean("success"));
+	}
+
+}
@@ -0,0 +1,332 @@
+package li.yansan.clean.processor;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates reflection-free {@code Converter} implementations for interfaces annotated
+ * with {@code @GenerateConverter}.
+ *
+ * <p>
+ * For an interface {@code X extends Converter<S, T>} the processor writes {@code XImpl}
+ * in the same package. Every property of {@code T} is copied from the property of
+ * {@code S} with the same name. When {@code T} overloads a setter, the overload that
+ * {@code javac} would choose for the source type is used. A missing or incompatible
+ * source property, or overloads that leave the choice ambiguous, are reported as a
+ * compile error on the interface.
+ */
+@SupportedAnnotationTypes(ConverterProcessor.GENERATE_CONVERTER)
+public class ConverterProcessor extends AbstractProcessor {
+
+	static final String GENERATE_CONVERTER = "li.yansan.clean.commons.convert.GenerateConverter";
+
+	static final String CONVERTER = "li.yansan.clean.commons.convert.Converter";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				try {
+					generate(element);
+				}
+				catch (MappingException ex) {
+					error(element, ex.getMessage());
+				}
+				catch (IOException ex) {
+					error(element, "Could not write converter: " + ex.getMessage());
+				}
+			}
+		}
+		return true;
+	}
+
+	private void generate(Element element) throws IOException {
+		if (element.getKind() != ElementKind.INTERFACE) {
+			throw new MappingException("@GenerateConverter can only be applied to interfaces.");
+		}
+		TypeElement type = (TypeElement) element;
+		if (!type.getTypeParameters().isEmpty()) {
+			throw new MappingException("@GenerateConverter interfaces can not declare type parameters.");
+		}
+		DeclaredType converter = findConverter(type.asType());
+		if (converter == null || converter.getTypeArguments().size() != 2) {
+			throw new MappingException("@GenerateConverter interfaces must extend Converter<S, T>.");
+		}
+		DeclaredType source = declared(converter.getTypeArguments().get(0), "source");
+		DeclaredType target = declared(converter.getTypeArguments().get(1), "target");
+
+		Map<String, Property> readable = readableProperties(source);
+		List<Property> writable = new ArrayList<>();
+		List<String> reads = new ArrayList<>();
+		for (Map.Entry<String, List<Property>> candidates : writableProperties(target).entrySet()) {
+			String name = candidates.getKey();
+			Property from = readable.get(name);
+			if (from == null) {
+				throw new MappingException("Unmapped target property '" + name + "' of " + target + ": " + source
+						+ " has no readable property with that name.");
+			}
+			writable.add(select(source, target, from, candidates.getValue()));
+			reads.add(from.access());
+		}
+
+		String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+			.replace('$', '_') + "Impl";
+		String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+		try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+			writer.write(render(packageName, simpleName, type, source, target, writable, reads));
+		}
+	}
+
+	/**
+	 * Picks the writer of a target property that accepts the source property the way
+	 * {@code javac} resolves overloads: writers reachable without boxing come first, and
+	 * of those the one with the most specific parameter type wins.
+	 */
+	private Property select(DeclaredType source, DeclaredType target, Property from, List<Property> candidates) {
+		List<Property> strict = applicable(from, candidates, false);
+		List<Property> applicable = strict.isEmpty() ? applicable(from, candidates, true) : strict;
+		if (applicable.isEmpty()) {
+			throw new MappingException("Property '" + from.name() + "' can not be mapped: " + source + " provides "
+					+ from.type() + " but " + target + " expects "
+					+ candidates.stream().map((candidate) -> candidate.type().toString()).collect(joining(" or "))
+					+ ".");
+		}
+		List<Property> mostSpecific = applicable.stream()
+			.filter((candidate) -> applicable.stream()
+				.allMatch((other) -> processingEnv.getTypeUtils().isSubtype(candidate.type(), other.type())))
+			.toList();
+		if (mostSpecific.size() != 1) {
+			throw new MappingException("Property '" + from.name() + "' can not be mapped: " + source + " provides "
+					+ from.type() + " and " + target + " has ambiguous setters for "
+					+ applicable.stream().map((candidate) -> candidate.type().toString()).collect(joining(", ")) + ".");
+		}
+		return mostSpecific.get(0);
+	}
+
+	private List<Property> applicable(Property from, List<Property> candidates, boolean boxing) {
+		List<Property> applicable = new ArrayList<>();
+		for (Property candidate : candidates) {
+			if (boxing ? processingEnv.getTypeUtils().isAssignable(from.type(), candidate.type())
+					: processingEnv.getTypeUtils().isSubtype(from.type(), candidate.type())) {
+				applicable.add(candidate);
+			}
+		}
+		return applicable;
+	}
+
+	private String render(String packageName, String simpleName, TypeElement type, DeclaredType source,
+			DeclaredType target, List<Property> writable, List<String> reads) {
+		StringBuilder code = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			code.append("package ").append(packageName).append(";\n\n");
+		}
+		code.append("@javax.annotation.processing.Generated(\"")
+			.append(ConverterProcessor.class.getName())
+			.append("\")\n");
+		code.append("public final class ")
+			.append(simpleName)
+			.append(" implements ")
+			.append(type.getQualifiedName())
+			.append(" {\n\n");
+		code.append("\t@Override\n");
+		code.append("\tpublic ").append(target).append(" convert(").append(source).append(" source) {\n");
+		code.append("\t\tif (source == null) {\n\t\t\treturn null;\n\t\t}\n");
+		if (isRecord(target)) {
+			code.append("\t\treturn new ").append(target).append("(");
+			for (int i = 0; i < reads.size(); i++) {
+				code.append(i == 0 ? "\n\t\t\t\t" : ",\n\t\t\t\t").append(reads.get(i));
+			}
+			code.append(");\n");
+		}
+		else {
+			code.append("\t\t").append(target).append(" target = new ").append(target).append("();\n");
+			for (int i = 0; i < reads.size(); i++) {
+				code.append("\t\ttarget.")
+					.append(writable.get(i).access())
+					.append("(")
+					.append(reads.get(i))
+					.append(");\n");
+			}
+			code.append("\t\treturn target;\n");
+		}
+		code.append("\t}\n\n}\n");
+		return code.toString();
+	}
+
+	private DeclaredType findConverter(TypeMirror type) {
+		TypeElement converter = processingEnv.getElementUtils().getTypeElement(CONVERTER);
+		if (converter == null) {
+			return null;
+		}
+		TypeMirror erasure = processingEnv.getTypeUtils().erasure(converter.asType());
+		for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+			if (processingEnv.getTypeUtils().isSameType(processingEnv.getTypeUtils().erasure(supertype), erasure)) {
+				return (DeclaredType) supertype;
+			}
+			DeclaredType found = findConverter(supertype);
+			if (found != null) {
+				return found;
+			}
+		}
+		return null;
+	}
+
+	private Map<String, Property> readableProperties(DeclaredType type) {
+		TypeElement element = (TypeElement) type.asElement();
+		Map<String, Property> properties = new LinkedHashMap<>();
+		if (element.getKind() == ElementKind.RECORD) {
+			for (RecordComponentElement component : element.getRecordComponents()) {
+				ExecutableElement accessor = component.getAccessor();
+				properties.put(component.getSimpleName().toString(), new Property(component.getSimpleName().toString(),
+						returnType(type, accessor), "source." + accessor.getSimpleName() + "()"));
+			}
+			return properties;
+		}
+		for (Element member : processingEnv.getElementUtils().getAllMembers(element)) {
+			if (!member.getModifiers().contains(Modifier.PUBLIC) || member.getModifiers().contains(Modifier.STATIC)) {
+				continue;
+			}
+			if (member.getKind() == ElementKind.FIELD) {
+				TypeMirror fieldType = processingEnv.getTypeUtils().asMemberOf(type, member);
+				properties.putIfAbsent(member.getSimpleName().toString(),
+						new Property(member.getSimpleName().toString(), fieldType, "source." + member.getSimpleName()));
+			}
+			else if (member.getKind() == ElementKind.METHOD) {
+				ExecutableElement method = (ExecutableElement) member;
+				String name = method.getSimpleName().toString();
+				TypeMirror returnType = returnType(type, method);
+				if (!method.getParameters().isEmpty() || returnType.getKind() == TypeKind.VOID
+						|| name.equals("getClass")) {
+					continue;
+				}
+				String property = null;
+				if (name.startsWith("get") && name.length() > 3) {
+					property = decapitalize(name.substring(3));
+				}
+				else if (name.startsWith("is") && name.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+					property = decapitalize(name.substring(2));
+				}
+				if (property != null) {
+					// Getters take precedence over public fields of the same name.
+					properties.put(property, new Property(property, returnType, "source." + name + "()"));
+				}
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * @return the writers of each target property in declaration order; a class may
+	 * declare several overloaded setters for one property
+	 */
+	private Map<String, List<Property>> writableProperties(DeclaredType type) {
+		TypeElement element = (TypeElement) type.asElement();
+		Map<String, List<Property>> properties = new LinkedHashMap<>();
+		if (element.getKind() == ElementKind.RECORD) {
+			for (RecordComponentElement component : element.getRecordComponents()) {
+				String name = component.getSimpleName().toString();
+				properties.put(name, List.of(new Property(name, returnType(type, component.getAccessor()), null)));
+			}
+			return properties;
+		}
+		boolean instantiable = element.getKind() == ElementKind.CLASS
+				&& !element.getModifiers().contains(Modifier.ABSTRACT)
+				&& element.getEnclosedElements()
+					.stream()
+					.filter((member) -> member.getKind() == ElementKind.CONSTRUCTOR)
+					.map(ExecutableElement.class::cast)
+					.anyMatch((constructor) -> constructor.getParameters().isEmpty()
+							&& constructor.getModifiers().contains(Modifier.PUBLIC));
+		if (!instantiable) {
+			throw new MappingException(
+					"Target " + type + " must be a record or a concrete class with a public no-argument constructor.");
+		}
+		for (Element member : processingEnv.getElementUtils().getAllMembers(element)) {
+			if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.PUBLIC)
+					|| member.getModifiers().contains(Modifier.STATIC)) {
+				continue;
+			}
+			ExecutableElement method = (ExecutableElement) member;
+			String name = method.getSimpleName().toString();
+			if (name.startsWith("set") && name.length() > 3 && method.getParameters().size() == 1) {
+				ExecutableType setter = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(type, method);
+				String property = decapitalize(name.substring(3));
+				properties.computeIfAbsent(property, (key) -> new ArrayList<>())
+					.add(new Property(property, setter.getParameterTypes().get(0), name));
+			}
+		}
+		return properties;
+	}
+
+	private DeclaredType declared(TypeMirror type, String role) {
+		if (type.getKind() != TypeKind.DECLARED) {
+			throw new MappingException("The " + role + " type " + type + " must be a class or a record.");
+		}
+		return (DeclaredType) type;
+	}
+
+	private TypeMirror returnType(DeclaredType owner, ExecutableElement method) {
+		return ((ExecutableType) processingEnv.getTypeUtils().asMemberOf(owner, method)).getReturnType();
+	}
+
+	private static boolean isRecord(DeclaredType type) {
+		return type.asElement().getKind() == ElementKind.RECORD;
+	}
+
+	private static String decapitalize(String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+			return name;
+		}
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	/**
+	 * A named property and the expression used to read or write it.
+	 */
+	private record Property(String name, TypeMirror type, String access) {
+	}
+
+	private static final class MappingException extends RuntimeException {
+
+		MappingException(String message) {
+			super(message);
+		}
+
+	}
+
+}
@@ -0,0 +1,591 @@
+package li.yansan.clean.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates plain Java {@code GeneratedValidator} implementations for types annotated
+ * with {@code @GenerateValidator}.
+ *
+ * <p>
+ * For a type {@code X} the processor writes {@code X_Validator} in the same package and
+ * lists it in {@code META-INF/services}. Only the constraints the generated code can
+ * check exactly as Hibernate Validator does are supported; a type using any other
+ * constraint is reported as a warning and left to Hibernate Validator.
+ */
+@SupportedAnnotationTypes(ValidatorProcessor.GENERATE_VALIDATOR)
+public class ValidatorProcessor extends AbstractProcessor {
+
+	static final String GENERATE_VALIDATOR = "li.yansan.clean.commons.validation.GenerateValidator";
+
+	static final String GENERATED_VALIDATOR = "li.yansan.clean.commons.validation.GeneratedValidator";
+
+	private static final String CONSTRAINT = "jakarta.validation.Constraint";
+
+	private static final String VALID = "jakarta.validation.Valid";
+
+	/**
+	 * Annotations that change the groups a type is validated in; the generated code only
+	 * validates the default group.
+	 */
+	private static final Set<String> GROUP_DEFINITIONS = Set.of("jakarta.validation.GroupSequence",
+			"org.hibernate.validator.group.GroupSequenceProvider");
+
+	private static final Set<String> GROUP_CONVERSIONS = Set.of("jakarta.validation.groups.ConvertGroup",
+			"jakarta.validation.groups.ConvertGroup.List");
+
+	private static final String CONSTRAINTS = "jakarta.validation.constraints.";
+
+	private static final String CLEAN_CONSTRAINTS = "li.yansan.clean.commons.validation.constraints.";
+
+	private static final String SSN = CLEAN_CONSTRAINTS + "SSN";
+
+	private static final String VALIDATORS = "li.yansan.clean.commons.validation.internal.constraintvalidators.";
+
+	/**
+	 * Identifier constraints without attributes, checked by the static
+	 * {@code isValidValue} of their validator.
+	 */
+	private static final Set<String> IDENTIFIERS = Set.of("EIN", "IBAN", "CreditCard", "E164", "CountryCode",
+			"CurrencyCode", "UUID");
+
+	private static final String PATTERN = "java.util.regex.Pattern";
+
+	private final List<String> generated = new ArrayList<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+					error(element, "@GenerateValidator can only be applied to classes and records.");
+					continue;
+				}
+				try {
+					generate((TypeElement) element);
+				}
+				catch (UnsupportedException ex) {
+					processingEnv.getMessager()
+						.printMessage(Diagnostic.Kind.WARNING,
+								"No validator generated: " + ex.getMessage() + " Hibernate Validator is used instead.",
+								element);
+				}
+				catch (IOException ex) {
+					error(element, "Could not write validator: " + ex.getMessage());
+				}
+			}
+		}
+		if (roundEnv.processingOver() && !generated.isEmpty()) {
+			writeServices();
+		}
+		return true;
+	}
+
+	private void generate(TypeElement type) throws IOException {
+		checkAccessible(type);
+		checkType(type);
+		List<String> patterns = new ArrayList<>();
+		StringBuilder checks = new StringBuilder();
+		for (Element member : type.getEnclosedElements()) {
+			if (member.getKind() == ElementKind.FIELD && !member.getModifiers().contains(Modifier.STATIC)) {
+				appendChecks(type, (VariableElement) member, patterns, checks);
+			}
+			else if (member.getKind() == ElementKind.METHOD && !isRecordAccessor(type, member)
+					&& isConstrained(member)) {
+				throw new UnsupportedException("getter constraints on " + member + " are not supported.");
+			}
+		}
+
+		String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+			.replace('$', '_') + "_Validator";
+		String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+		StringBuilder code = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			code.append("package ").append(packageName).append(";\n\n");
+		}
+		String typeName = typeName(type.asType());
+		code.append("@javax.annotation.processing.Generated(\"")
+			.append(ValidatorProcessor.class.getName())
+			.append("\")\n");
+		code.append("public final class ")
+			.append(simpleName)
+			.append(" implements ")
+			.append(GENERATED_VALIDATOR)
+			.append("<")
+			.append(typeName)
+			.append("> {\n\n");
+		for (int i = 0; i < patterns.size(); i++) {
+			code.append("\tprivate static final ")
+				.append(PATTERN)
+				.append(" PATTERN_")
+				.append(i)
+				.append(" = ")
+				.append(patterns.get(i))
+				.append(";\n\n");
+		}
+		code.append("\t@Override\n");
+		if (!type.getTypeParameters().isEmpty()) {
+			code.append("\t@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+			code.append("\tpublic Class<")
+				.append(typeName)
+				.append("> type() {\n\t\treturn (Class) ")
+				.append(type.getQualifiedName())
+				.append(".class;\n\t}\n\n");
+		}
+		else {
+			code.append("\tpublic Class<")
+				.append(typeName)
+				.append("> type() {\n\t\treturn ")
+				.append(typeName)
+				.append(".class;\n\t}\n\n");
+		}
+		code.append("\t@Override\n");
+		code.append("\tpublic boolean isValid(")
+			.append(typeName)
+			.append(" value, java.util.function.Predicate<Object> cascade) {\n");
+		code.append(checks);
+		code.append("\t\treturn true;\n\t}\n\n}\n");
+
+		try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+			writer.write(code.toString());
+		}
+		generated.add(qualifiedName);
+	}
+
+	private void appendChecks(TypeElement type, VariableElement field, List<String> patterns, StringBuilder checks) {
+		TypeMirror fieldType = field.asType();
+		if (hasContainerElementConstraints(fieldType)) {
+			throw new UnsupportedException("container element constraints on " + field + " are not supported.");
+		}
+		List<String> failures = new ArrayList<>();
+		boolean cascaded = false;
+		String local = "_" + field.getSimpleName();
+		boolean primitive = fieldType.getKind().isPrimitive();
+		List<AnnotationMirror> constraints = new ArrayList<>();
+		for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+			if (isValid(annotation)) {
+				cascaded = true;
+			}
+			else if (isOneOf(annotation, GROUP_CONVERSIONS)) {
+				throw new UnsupportedException("group conversion on " + field + " is not supported.");
+			}
+			else {
+				constraints.addAll(constraints(annotation));
+			}
+		}
+		for (AnnotationMirror annotation : constraints) {
+			String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+			Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils()
+				.getElementValuesWithDefaults(annotation);
+			if (!((List<?>) value(values, "groups")).isEmpty()) {
+				throw new UnsupportedException("constraint groups on " + field + " are not supported.");
+			}
+			String unsupported = "@" + annotation.getAnnotationType().asElement().getSimpleName() + " on " + field
+					+ " is not supported.";
+			switch (name) {
+				case CONSTRAINTS + "NotNull" -> {
+					if (!primitive) {
+						failures.add(local + " == null");
+					}
+				}
+				case CONSTRAINTS + "NotBlank" -> {
+					requireCharSequence(fieldType, unsupported);
+					failures.add(local + " == null || " + local + ".toString().trim().isEmpty()");
+				}
+				case CONSTRAINTS + "NotEmpty" -> {
+					failures.add(local + " == null || " + size(local, fieldType, unsupported) + " == 0");
+				}
+				case CONSTRAINTS + "Size" -> {
+					String size = size(local, fieldType, unsupported);
+					failures.add(local + " != null && (" + size + " < " + value(values, "min") + " || " + size + " > "
+							+ value(values, "max") + ")");
+				}
+				case CONSTRAINTS + "Min" -> {
+					requireIntegral(fieldType, unsupported);
+					failures.add(nullSafe(local, primitive) + local + " < " + value(values, "value") + "L");
+				}
+				case CONSTRAINTS + "Max" -> {
+					requireIntegral(fieldType, unsupported);
+					failures.add(nullSafe(local, primitive) + local + " > " + value(values, "value") + "L");
+				}
+				case CONSTRAINTS + "Positive" -> {
+					if (isOneOf(fieldType, "java.math.BigDecimal", "java.math.BigInteger")) {
+						failures.add(local + " != null && " + local + ".signum() <= 0");
+					}
+					else {
+						requireIntegral(fieldType, unsupported);
+						failures.add(nullSafe(local, primitive) + local + " <= 0");
+					}
+				}
+				case CONSTRAINTS + "Pattern" -> {
+					requireCharSequence(fieldType, unsupported);
+					failures
+						.add(local + " != null && !PATTERN_" + patterns.size() + ".matcher(" + local + ").matches()");
+					patterns.add(PATTERN + ".compile(" + constant(value(values, "regexp"))
+							+ flags((List<?>) value(values, "flags")) + ")");
+				}
+				case SSN -> {
+					requireCharSequence(fieldType, unsupported);
+					if (isDefault(annotation, "pattern")) {
+						failures.add("!" + VALIDATORS + "SSNValidator.isValidDefault(" + local + ")");
+					}
+					else {
+						failures.add(local + " != null && !" + local + ".toString().isBlank() && !PATTERN_"
+								+ patterns.size() + ".matcher(" + local + ").matches()");
+						patterns.add(PATTERN + ".compile(" + constant(value(values, "pattern")) + ")");
+					}
+				}
+				default -> {
+					String identifier = name.substring(name.lastIndexOf('.') + 1);
+					if (!name.equals(CLEAN_CONSTRAINTS + identifier) || !IDENTIFIERS.contains(identifier)) {
+						throw new UnsupportedException(unsupported);
+					}
+					requireCharSequence(fieldType, unsupported);
+					failures.add("!" + VALIDATORS + identifier + "Validator.isValidValue(" + local + ")");
+				}
+			}
+		}
+		if (failures.isEmpty() && !cascaded) {
+			return;
+		}
+		checks.append("\t\t")
+			.append(typeName(fieldType))
+			.append(" ")
+			.append(local)
+			.append(" = ")
+			.append(read(type, field))
+			.append(";\n");
+		for (String failure : failures) {
+			checks.append("\t\tif (").append(failure).append(") {\n\t\t\treturn false;\n\t\t}\n");
+		}
+		if (cascaded && !primitive) {
+			checks.append(cascade(local, fieldType, field));
+		}
+	}
+
+	private String cascade(String local, TypeMirror type, VariableElement field) {
+		String elements;
+		if (isAssignable(type, "java.lang.Iterable")) {
+			elements = local;
+		}
+		else if (isAssignable(type, "java.util.Map")) {
+			elements = local + ".values()";
+		}
+		else if (type.getKind() == TypeKind.ARRAY || isAssignable(type, "java.util.Optional")) {
+			throw new UnsupportedException("@Valid on " + field + " is not supported.");
+		}
+		else {
+			return "\t\tif (" + local + " != null && !cascade.test(" + local + ")) {\n\t\t\treturn false;\n\t\t}\n";
+		}
+		return "\t\tif (" + local + " != null) {\n\t\t\tfor (Object element : " + elements + ") {\n"
+				+ "\t\t\t\tif (element != null && !cascade.test(element)) {\n\t\t\t\t\treturn false;\n\t\t\t\t}\n"
+				+ "\t\t\t}\n\t\t}\n";
+	}
+
+	private String read(TypeElement type, VariableElement field) {
+		String name = field.getSimpleName().toString();
+		if (type.getKind() == ElementKind.RECORD) {
+			return "value." + name + "()";
+		}
+		if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+			return "value." + name;
+		}
+		String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		for (Element member : type.getEnclosedElements()) {
+			if (member.getKind() == ElementKind.METHOD && !member.getModifiers().contains(Modifier.PRIVATE)
+					&& !member.getModifiers().contains(Modifier.STATIC)
+					&& ((ExecutableElement) member).getParameters().isEmpty()
+					&& (member.getSimpleName().contentEquals("get" + suffix)
+							|| member.getSimpleName().contentEquals("is" + suffix))) {
+				return "value." + member.getSimpleName() + "()";
+			}
+		}
+		throw new UnsupportedException("private field " + field + " has no accessible getter.");
+	}
+
+	private void checkAccessible(TypeElement type) {
+		for (Element element = type; element instanceof TypeElement typeElement; element = element
+			.getEnclosingElement()) {
+			if (typeElement.getNestingKind() == NestingKind.LOCAL
+					|| typeElement.getNestingKind() == NestingKind.ANONYMOUS
+					|| typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+				throw new UnsupportedException(type + " is not accessible from its package.");
+			}
+		}
+	}
+
+	private void checkType(TypeElement type) {
+		if (isConstrained(type)) {
+			throw new UnsupportedException("class-level constraints on " + type + " are not supported.");
+		}
+		if (definesGroups(type)) {
+			throw new UnsupportedException("group sequences on " + type + " are not supported.");
+		}
+		List<TypeMirror> supertypes = new ArrayList<>(processingEnv.getTypeUtils().directSupertypes(type.asType()));
+		while (!supertypes.isEmpty()) {
+			TypeElement supertype = (TypeElement) ((DeclaredType) supertypes.remove(supertypes.size() - 1)).asElement();
+			if (isConstrained(supertype) || definesGroups(supertype)
+					|| supertype.getEnclosedElements().stream().anyMatch(ValidatorProcessor.this::isConstrained)) {
+				throw new UnsupportedException("constraints inherited from " + supertype + " are not supported.");
+			}
+			supertypes.addAll(processingEnv.getTypeUtils().directSupertypes(supertype.asType()));
+		}
+	}
+
+	private boolean isRecordAccessor(TypeElement type, Element method) {
+		if (type.getKind() != ElementKind.RECORD) {
+			return false;
+		}
+		for (RecordComponentElement component : type.getRecordComponents()) {
+			if (method.equals(component.getAccessor())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isConstrained(Element element) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (!constraints(annotation).isEmpty() || isValid(annotation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean definesGroups(Element element) {
+		return element.getAnnotationMirrors().stream().anyMatch((annotation) -> isOneOf(annotation, GROUP_DEFINITIONS));
+	}
+
+	private boolean hasContainerElementConstraints(TypeMirror type) {
+		if (type instanceof ArrayType arrayType) {
+			return hasTypeConstraints(arrayType.getComponentType());
+		}
+		if (type instanceof DeclaredType declaredType) {
+			return declaredType.getTypeArguments().stream().anyMatch(this::hasTypeConstraints);
+		}
+		return false;
+	}
+
+	private boolean hasTypeConstraints(TypeMirror type) {
+		for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+			if (!constraints(annotation).isEmpty() || isValid(annotation)) {
+				return true;
+			}
+		}
+		return hasContainerElementConstraints(type);
+	}
+
+	/**
+	 * Returns the constraints an annotation declares: itself if it is a constraint, the
+	 * repeated constraints of a container such as {@code @Size.List}, or none.
+	 */
+	private static List<AnnotationMirror> constraints(AnnotationMirror annotation) {
+		if (isConstraint(annotation)) {
+			return List.of(annotation);
+		}
+		List<AnnotationMirror> repeated = new ArrayList<>();
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues()
+			.entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals("value")
+					&& entry.getValue().getValue() instanceof List<?> list) {
+				for (Object element : list) {
+					if (((AnnotationValue) element).getValue() instanceof AnnotationMirror mirror
+							&& isConstraint(mirror)) {
+						repeated.add(mirror);
+					}
+				}
+			}
+		}
+		return repeated;
+	}
+
+	private static boolean isConstraint(AnnotationMirror annotation) {
+		for (AnnotationMirror meta : annotation.getAnnotationType().asElement().getAnnotationMirrors()) {
+			if (((TypeElement) meta.getAnnotationType().asElement()).getQualifiedName().contentEquals(CONSTRAINT)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isOneOf(AnnotationMirror annotation, Set<String> names) {
+		return names.contains(((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString());
+	}
+
+	private static boolean isValid(AnnotationMirror annotation) {
+		return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(VALID);
+	}
+
+	private String size(String local, TypeMirror type, String unsupported) {
+		if (type.getKind() == TypeKind.ARRAY) {
+			return local + ".length";
+		}
+		if (isAssignable(type, "java.lang.CharSequence")) {
+			return local + ".length()";
+		}
+		if (isAssignable(type, "java.util.Collection") || isAssignable(type, "java.util.Map")) {
+			return local + ".size()";
+		}
+		throw new UnsupportedException(unsupported);
+	}
+
+	private void requireIntegral(TypeMirror type, String unsupported) {
+		TypeMirror unboxed = type;
+		if (type.getKind() == TypeKind.DECLARED) {
+			try {
+				unboxed = processingEnv.getTypeUtils().unboxedType(type);
+			}
+			catch (IllegalArgumentException ex) {
+				throw new UnsupportedException(unsupported);
+			}
+		}
+		switch (unboxed.getKind()) {
+			case BYTE, SHORT, INT, LONG -> {
+			}
+			default -> throw new UnsupportedException(unsupported);
+		}
+	}
+
+	private void requireCharSequence(TypeMirror type, String unsupported) {
+		if (!isAssignable(type, "java.lang.CharSequence")) {
+			throw new UnsupportedException(unsupported);
+		}
+	}
+
+	private boolean isAssignable(TypeMirror type, String target) {
+		TypeElement element = processingEnv.getElementUtils().getTypeElement(target);
+		return type.getKind() == TypeKind.DECLARED && element != null
+				&& processingEnv.getTypeUtils()
+					.isAssignable(processingEnv.getTypeUtils().erasure(type),
+							processingEnv.getTypeUtils().erasure(element.asType()));
+	}
+
+	private boolean isOneOf(TypeMirror type, String... names) {
+		if (type.getKind() != TypeKind.DECLARED) {
+			return false;
+		}
+		String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+		return List.of(names).contains(name);
+	}
+
+	/**
+	 * Renders a type usable in the generated class: type arguments become wildcards and
+	 * type variables their erasure, and type annotations are dropped.
+	 */
+	private String typeName(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return type.getKind().name().toLowerCase();
+		}
+		if (type instanceof ArrayType arrayType) {
+			return typeName(arrayType.getComponentType()) + "[]";
+		}
+		if (type instanceof DeclaredType declaredType) {
+			TypeElement element = (TypeElement) declaredType.asElement();
+			int parameters = element.getTypeParameters().size();
+			return element.getQualifiedName() + (parameters == 0 ? "" : "<" + "?, ".repeat(parameters - 1) + "?>");
+		}
+		return typeName(processingEnv.getTypeUtils().erasure(type));
+	}
+
+	private String constant(Object value) {
+		return processingEnv.getElementUtils().getConstantExpression(value);
+	}
+
+	private static String flags(List<?> flags) {
+		StringBuilder expression = new StringBuilder();
+		for (Object flag : flags) {
+			String name = ((VariableElement) ((AnnotationValue) flag).getValue()).getSimpleName().toString();
+			expression.append(expression.isEmpty() ? ", " : " | ").append(PATTERN).append(".").append(name);
+		}
+		return expression.toString();
+	}
+
+	private static String nullSafe(String local, boolean primitive) {
+		return primitive ? "" : local + " != null && ";
+	}
+
+	private static boolean isDefault(AnnotationMirror annotation, String name) {
+		for (Element element : annotation.getAnnotationType().asElement().getEnclosedElements()) {
+			if (element.getSimpleName().contentEquals(name)) {
+				AnnotationValue defaultValue = ((ExecutableElement) element).getDefaultValue();
+				return annotation.getElementValues()
+					.entrySet()
+					.stream()
+					.filter((entry) -> entry.getKey().getSimpleName().contentEquals(name))
+					.allMatch((entry) -> defaultValue != null
+							&& defaultValue.getValue().equals(entry.getValue().getValue()));
+			}
+		}
+		return false;
+	}
+
+	private static Object value(Map<? extends ExecutableElement, ? extends AnnotationValue> values, String name) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name)) {
+				return entry.getValue().getValue();
+			}
+		}
+		throw new IllegalStateException("Missing annotation value " + name + ".");
+	}
+
+	private void writeServices() {
+		try (Writer writer = processingEnv.getFiler()
+			.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + GENERATED_VALIDATOR)
+			.openWriter()) {
+			for (String name : generated) {
+				writer.write(name + "\n");
+			}
+		}
+		catch (IOException ex) {
+			processingEnv.getMessager()
+				.printMessage(Diagnostic.Kind.ERROR, "Could not register generated validators: " + ex.getMessage());
+		}
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	private static final class UnsupportedException extends RuntimeException {
+
+		UnsupportedException(String message) {
+			super(message);
+		}
+
+	}
+
+}
@@ -0,0 +1,247 @@
+package li.yansan.clean.processor;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.jupiter.api.Test;
+
+class ConverterProcessorTest {
+
+	@Test
+	void convertsPojoToRecord() {
+		Compilation compilation = compile("test.EntityToCustomer",
+				"""
+						package test;
+
+						import li.yansan.clean.commons.convert.Converter;
+						import li.yansan.clean.commons.convert.GenerateConverter;
+
+						@GenerateConverter
+						public interface EntityToCustomer extends Converter<EntityToCustomer.Entity, EntityToCustomer.Customer> {
+
+							record Customer(String name, int age, boolean active) {
+							}
+
+							class Entity {
+
+								public int age;
+
+								public String getName() {
+									return "name";
+								}
+
+								public boolean isActive() {
+									return true;
+								}
+
+							}
+
+						}
+						""");
+		assertThat(compilation).succeededWithoutWarnings();
+		assertThat(compilation).generatedSourceFile("test.EntityToCustomerImpl")
+			.contentsAsUtf8String()
+			.contains("source.getName(),");
+		assertThat(compilation).generatedSourceFile("test.EntityToCustomerImpl")
+			.contentsAsUtf8String()
+			.contains("source.age,");
+		assertThat(compilation).generatedSourceFile("test.EntityToCustomerImpl")
+			.contentsAsUtf8String()
+			.contains("source.isActive());");
+	}
+
+	@Test
+	void convertsRecordToPojo() {
+		Compilation compilation = compile("test.CustomerToEntity",
+				"""
+						package test;
+
+						import li.yansan.clean.commons.convert.Converter;
+						import li.yansan.clean.commons.convert.GenerateConverter;
+
+						@GenerateConverter
+						public interface CustomerToEntity extends Converter<CustomerToEntity.Customer, CustomerToEntity.Entity> {
+
+							record Customer(String name, int age) {
+							}
+
+							class Entity {
+
+								public void setName(String name) {
+								}
+
+								public void setAge(long age) {
+								}
+
+							}
+
+						}
+						""");
+		assertThat(compilation).succeededWithoutWarnings();
+		assertThat(compilation).generatedSourceFile("test.CustomerToEntityImpl")
+			.contentsAsUtf8String()
+			.contains("target.setName(source.name());");
+		assertThat(compilation).generatedSourceFile("test.CustomerToEntityImpl")
+			.contentsAsUtf8String()
+			.contains("target.setAge(source.age());");
+	}
+
+	@Test
+	void reportsUnmappedTargetProperties() {
+		Compilation compilation = compile("test.Unmapped", """
+				package test;
+
+				import li.yansan.clean.commons.convert.Converter;
+				import li.yansan.clean.commons.convert.GenerateConverter;
+
+				@GenerateConverter
+				public interface Unmapped extends Converter<Unmapped.Source, Unmapped.Target> {
+
+					record Source(String name) {
+					}
+
+					record Target(String name, String email) {
+					}
+
+				}
+				""");
+		assertThat(compilation).failed();
+		assertThat(compilation).hadErrorContaining("Unmapped target property 'email'");
+	}
+
+	@Test
+	void reportsIncompatibleTargetProperties() {
+		Compilation compilation = compile("test.Incompatible", """
+				package test;
+
+				import li.yansan.clean.commons.convert.Converter;
+				import li.yansan.clean.commons.convert.GenerateConverter;
+
+				@GenerateConverter
+				public interface Incompatible extends Converter<Incompatible.Source, Incompatible.Target> {
+
+					record Source(long id) {
+					}
+
+					record Target(int id) {
+					}
+
+				}
+				""");
+		assertThat(compilation).failed();
+		assertThat(compilation).hadErrorContaining("Property 'id' can not be mapped");
+	}
+
+	@Test
+	void picksTheOverloadJavacWouldCall() {
+		Compilation compilation = compile("test.Overloads", """
+				package test;
+
+				import li.yansan.clean.commons.convert.Converter;
+				import li.yansan.clean.commons.convert.GenerateConverter;
+
+				@GenerateConverter
+				public interface Overloads extends Converter<Overloads.Source, Overloads.Target> {
+
+					record Source(String name, int age) {
+					}
+
+					class Target {
+
+						public void setName(Object name) {
+						}
+
+						public void setName(CharSequence name) {
+						}
+
+						public void setName(java.util.List<String> names) {
+						}
+
+						public void setAge(Integer age) {
+						}
+
+						public void setAge(long age) {
+						}
+
+					}
+
+				}
+				""");
+		assertThat(compilation).succeededWithoutWarnings();
+		assertThat(compilation).generatedSourceFile("test.OverloadsImpl")
+			.contentsAsUtf8String()
+			.contains("target.setName(source.name());");
+		assertThat(compilation).generatedSourceFile("test.OverloadsImpl")
+			.contentsAsUtf8String()
+			.contains("target.setAge(source.age());");
+	}
+
+	@Test
+	void reportsOverloadsWithoutAMatch() {
+		Compilation compilation = compile("test.NoMatch", """
+				package test;
+
+				import li.yansan.clean.commons.convert.Converter;
+				import li.yansan.clean.commons.convert.GenerateConverter;
+
+				@GenerateConverter
+				public interface NoMatch extends Converter<NoMatch.Source, NoMatch.Target> {
+
+					record Source(String name) {
+					}
+
+					class Target {
+
+						public void setName(Integer name) {
+						}
+
+						public void setName(java.util.List<String> names) {
+						}
+
+					}
+
+				}
+				""");
+		assertThat(compilation).failed();
+		assertThat(compilation).hadErrorContaining("expects java.lang.Integer or java.util.List<java.lang.String>.");
+	}
+
+	@Test
+	void reportsAmbiguousOverloads() {
+		Compilation compilation = compile("test.Ambiguous", """
+				package test;
+
+				import java.io.Serializable;
+				import li.yansan.clean.commons.convert.Converter;
+				import li.yansan.clean.commons.convert.GenerateConverter;
+
+				@GenerateConverter
+				public interface Ambiguous extends Converter<Ambiguous.Source, Ambiguous.Target> {
+
+					record Source(String name) {
+					}
+
+					class Target {
+
+						public void setName(CharSequence name) {
+						}
+
+						public void setName(Serializable name) {
+						}
+
+					}
+
+				}
+				""");
+		assertThat(compilation).failed();
+		assertThat(compilation)
+			.hadErrorContaining("has ambiguous setters for java.lang.CharSequence, java.io.Serializable.");
+	}
+
+	private static Compilation compile(String name, String source) {
+		return javac().withProcessors(new ConverterProcessor()).compile(JavaFileObjects.forSourceString(name, source));
+	}
+
+}
@@ -0,0 +1,107 @@
+package li.yansan.clean.processor;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.jupiter.api.Test;
+
+class ValidatorProcessorTest {
+
+	@Test
+	void generatesValidatorForSupportedConstraints() {
+		Compilation compilation = compile("test.Person", """
+				package test;
+
+				import jakarta.validation.Valid;
+				import jakarta.validation.constraints.NotNull;
+				import jakarta.validation.constraints.Size;
+				import li.yansan.clean.commons.validation.GenerateValidator;
+
+				@GenerateValidator
+				public record Person(@NotNull @Size(min = 1, max = 10) String name, @Valid Person parent) {
+				}
+				""");
+		assertThat(compilation).succeededWithoutWarnings();
+		assertThat(compilation).generatedSourceFile("test.Person_Validator")
+			.contentsAsUtf8String()
+			.contains("if (_name != null && (_name.length() < 1 || _name.length() > 10)) {");
+		assertThat(compilation).generatedSourceFile("test.Person_Validator")
+			.contentsAsUtf8String()
+			.contains("if (_parent != null && !cascade.test(_parent)) {");
+	}
+
+	@Test
+	void leavesGroupConversionsToHibernateValidator() {
+		Compilation compilation = compile("test.Order", """
+				package test;
+
+				import jakarta.validation.Valid;
+				import jakarta.validation.groups.ConvertGroup;
+				import jakarta.validation.groups.Default;
+				import li.yansan.clean.commons.validation.GenerateValidator;
+
+				@GenerateValidator
+				public record Order(@Valid @ConvertGroup(from = Default.class, to = Order.Strict.class) Order parent) {
+
+					public interface Strict {
+					}
+
+				}
+				""");
+		assertThat(compilation).succeeded();
+		assertThat(compilation).hadWarningContaining("group conversion on parent is not supported.");
+		assertTrue(compilation.generatedSourceFile("test.Order_Validator").isEmpty());
+	}
+
+	@Test
+	void leavesGroupSequencesToHibernateValidator() {
+		Compilation compilation = compile("test.Account", """
+				package test;
+
+				import jakarta.validation.GroupSequence;
+				import jakarta.validation.constraints.NotNull;
+				import li.yansan.clean.commons.validation.GenerateValidator;
+
+				@GenerateValidator
+				@GroupSequence({ Account.class, Account.Strict.class })
+				public class Account {
+
+					@NotNull
+					public String id;
+
+					public interface Strict {
+					}
+
+				}
+				""");
+		assertThat(compilation).succeeded();
+		assertThat(compilation).hadWarningContaining("group sequences on test.Account are not supported.");
+	}
+
+	@Test
+	void leavesConstraintGroupsToHibernateValidator() {
+		Compilation compilation = compile("test.Invoice", """
+				package test;
+
+				import jakarta.validation.constraints.NotNull;
+				import li.yansan.clean.commons.validation.GenerateValidator;
+
+				@GenerateValidator
+				public record Invoice(@NotNull(groups = Invoice.Strict.class) String number) {
+
+					public interface Strict {
+					}
+
+				}
+				""");
+		assertThat(compilation).hadWarningContaining("constraint groups on number are not supported.");
+	}
+
+	private static Compilation compile(String name, String source) {
+		return javac().withProcessors(new ValidatorProcessor()).compile(JavaFileObjects.forSourceString(name, source));
+	}
+
+}